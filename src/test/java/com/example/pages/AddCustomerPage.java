@@ -1,12 +1,24 @@
 package com.example.pages;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 
+import com.example.utils.ConfigReader;
+import com.example.utils.CustomerDataSource;
+import com.example.utils.CustomerRecord;
+import com.example.utils.DomMirror;
+import com.example.utils.DropdownEngine;
+import com.example.utils.FormFillScheduler;
 import com.example.utils.RandomDataGenerator;
+import com.example.utils.SaveCapture;
 import com.example.utils.WaitHelper;
 
 /**
@@ -17,18 +29,43 @@ public class AddCustomerPage {
 
     private final WebDriver driver;
     private final WaitHelper waitHelper;
+    private final DropdownEngine dropdownEngine;
+    private final DomMirror domMirror;
+
+    // Text field ids (used by the batched fill script)
+    private static final String CUSTOMER_NUMBER_ID = "CustomerNo";
+    private static final String CUSTOMER_NAME_ID = "Name";
+    private static final String FATHER_NAME_ID = "FatherName";
+    private static final String PHONE_NO_ID = "PhoneNo";
+    private static final String EMAIL_ID = "EmailId";
+    private static final String MOBILE_NO_ID = "MobileNo";
+    private static final String AADHAAR_NO_ID = "AdhaarNo";
+    private static final String ADDRESS_ID = "AddressCust";
+    private static final String ADDRESS2_ID = "AddressCust2";
+    private static final String REMARKS_ID = "Remarks";
+
+    // Outcomes of Save, checked in this order (selectors and texts in save.outcome.*)
+    public static final String SAVE_SUCCESS = "success";
+    public static final String SAVE_SESSION_EXPIRED = "session.expired";
+    public static final String SAVE_DUPLICATE = "duplicate";
+    public static final String SAVE_VALIDATION_ERROR = "validation";
+    private static final List<String> SAVE_OUTCOMES =
+            List.of(SAVE_SESSION_EXPIRED, SAVE_DUPLICATE, SAVE_VALIDATION_ERROR, SAVE_SUCCESS);
 
     // Basic Details Locators
-    private final By customerNumberField = By.xpath("//*[@id='CustomerNo']");
-    private final By customerNameField = By.xpath("//*[@id='Name']");
-    private final By fatherNameField = By.xpath("//*[@id='FatherName']");
-    private final By phoneNoField = By.xpath("//*[@id='PhoneNo']");
-    private final By emailField = By.xpath("//*[@id='EmailId']");
-    private final By mobileNoField = By.xpath("//*[@id='MobileNo']");
-    private final By aadhaarNoField = By.xpath("//*[@id='AdhaarNo']");
-    private final By addressField = By.id("AddressCust");
-    private final By address2Field = By.id("AddressCust2");
-    private final By remarksField = By.xpath("//*[@id='Remarks']");
+    private final By customerNumberField = By.id(CUSTOMER_NUMBER_ID);
+    private final By customerNameField = By.id(CUSTOMER_NAME_ID);
+    private final By fatherNameField = By.id(FATHER_NAME_ID);
+    private final By phoneNoField = By.id(PHONE_NO_ID);
+    private final By emailField = By.id(EMAIL_ID);
+    private final By mobileNoField = By.id(MOBILE_NO_ID);
+    private final By aadhaarNoField = By.id(AADHAAR_NO_ID);
+    private final By addressField = By.id(ADDRESS_ID);
+    private final By address2Field = By.id(ADDRESS2_ID);
+    private final By remarksField = By.xpath("//*[@id='" + REMARKS_ID + "']");
+
+    // Form Locator
+    private final By customerForm = By.xpath("/html/body/div[2]/div/main/div/div/main/div/div[2]/div/div/form");
 
     // Dropdown Locators
     private final By customerTypeDropdown = By.xpath("/html/body/div[2]/div/main/div/div/main/div/div[2]/div/div/form/div[1]/div/div/div[1]/div[2]/div/div/div/div[1]/div[2]/div[1]/div/select");
@@ -47,6 +84,9 @@ public class AddCustomerPage {
     private final By nextButtonCollapseFour = By.xpath("//*[@id='flush-collapseFour']/div/div[2]/button[2]");
     private final By saveButton = By.xpath("//*[@id='CustomerCreateNew']");
 
+    // Customer entered by this page, taken on first use
+    private CustomerRecord customer;
+
     // Store generated data for verification
     private String generatedCustomerNumber;
     private String generatedCustomerName;
@@ -58,244 +98,233 @@ public class AddCustomerPage {
     public AddCustomerPage(WebDriver driver) {
         this.driver = driver;
         this.waitHelper = new WaitHelper(driver);
+        this.dropdownEngine = new DropdownEngine(driver);
+        this.domMirror = new DomMirror(driver, customerForm);
     }
 
     /**
-     * Fill customer number with random data
+     * Fill customer number with customer data
      */
     public void fillCustomerNumber() {
-        generatedCustomerNumber = RandomDataGenerator.generateCustomerNumber();
+        generatedCustomerNumber = customer().customerNumber();
         waitHelper.waitAndSendKeys(customerNumberField, generatedCustomerNumber);
     }
 
     /**
-     * Fill customer name with random data
+     * Fill customer name with customer data
      */
     public void fillCustomerName() {
-        generatedCustomerName = RandomDataGenerator.generateCustomerName();
+        generatedCustomerName = customer().customerName();
         waitHelper.waitAndSendKeys(customerNameField, generatedCustomerName);
     }
 
     /**
-     * Fill father name with random data
+     * Fill father name with customer data
      */
     public void fillFatherName() {
-        String fatherName = RandomDataGenerator.generateFatherName();
+        String fatherName = customer().fatherName();
         waitHelper.waitAndSendKeys(fatherNameField, fatherName);
     }
 
     /**
-     * Fill phone number with random data
+     * Fill phone number with customer data
      */
     public void fillPhoneNumber() {
-        String phoneNo = RandomDataGenerator.generatePhoneNumber();
+        String phoneNo = customer().phoneNumber();
         waitHelper.waitAndSendKeys(phoneNoField, phoneNo);
     }
 
     /**
-     * Fill email with random data
+     * Fill email with customer data
      */
     public void fillEmail() {
-        String email = RandomDataGenerator.generateEmail();
+        String email = customer().email();
         waitHelper.waitAndSendKeys(emailField, email);
     }
 
     /**
-     * Fill mobile number with random data
+     * Fill mobile number with customer data
      */
     public void fillMobileNumber() {
-        String mobileNo = RandomDataGenerator.generateMobileNumber();
+        String mobileNo = customer().mobileNumber();
         waitHelper.waitAndSendKeys(mobileNoField, mobileNo);
     }
 
     /**
-     * Fill Aadhaar number with random data
+     * Fill Aadhaar number with customer data
      */
     public void fillAadhaarNumber() {
-        String aadhaarNo = RandomDataGenerator.generateAadhaarNumber();
+        String aadhaarNo = customer().aadhaarNumber();
         waitHelper.waitAndSendKeys(aadhaarNoField, aadhaarNo);
     }
 
     /**
-     * Fill address with random data
+     * Fill address with customer data
      */
     public void fillAddress() {
-        String address = RandomDataGenerator.generateAddress();
+        String address = customer().address();
         waitHelper.waitAndSendKeys(addressField, address);
     }
 
     /**
-     * Fill second address line with random data
+     * Fill second address line with customer data
      */
     public void fillAddress2() {
-        String address2 = RandomDataGenerator.generateSecondaryAddress();
+        String address2 = customer().secondaryAddress();
         waitHelper.waitAndSendKeys(address2Field, address2);
     }
 
     /**
-     * Fill remarks with random data
+     * Fill remarks with customer data
      */
     public void fillRemarks() {
-        String remarks = RandomDataGenerator.generateRemarks();
+        String remarks = customer().remarks();
         waitHelper.waitAndSendKeys(remarksField, remarks);
     }
 
     /**
-     * Select random option from Customer Type dropdown
+     * Select the customer's option from Customer Type dropdown, or a random one
      */
     public void selectCustomerType() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(customerTypeDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(customerTypeDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(customerTypeDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(customerTypeDropdown, customer().customerType(), false);
     }
 
     /**
-     * Select random option from Industry dropdown
+     * Select the customer's option from Industry dropdown, or a random one
      */
     public void selectIndustry() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(industryDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(industryDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(industryDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(industryDropdown, customer().industry(), false);
     }
 
     /**
-     * Select random option from Segment dropdown
+     * Select the customer's option from Segment dropdown, or a random one
      */
     public void selectSegment() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(segmentDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(segmentDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(segmentDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(segmentDropdown, customer().segment(), false);
     }
 
     /**
-     * Select random option from Business Unit dropdown
+     * Select the customer's option from Business Unit dropdown, or a random one
      */
     public void selectBusinessUnit() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(businessUnitDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(businessUnitDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(businessUnitDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(businessUnitDropdown, customer().businessUnit(), false);
     }
 
     /**
-     * Select random option from Zone dropdown
+     * Select the customer's option from Zone dropdown, or a random one
      */
     public void selectZone() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(zoneDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(zoneDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(zoneDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(zoneDropdown, customer().zone(), false);
     }
 
     /**
-     * Select random option from State dropdown
+     * Select the customer's option from State dropdown, or a random one
      */
     public void selectState() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(stateDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(stateDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(stateDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(stateDropdown, customer().state(), false);
     }
 
     /**
-     * Select random option from Location dropdown
+     * Select the customer's option from Location dropdown, or a random one
      */
     public void selectLocation() {
-        // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(locationDropdown);
-        waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(500);
-        
-        // Click dropdown to load options
-        waitHelper.waitAndClick(locationDropdown);
-        waitHelper.hardWait(1500);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(locationDropdown);
-        selectRandomDropdownOption(dropdown);
+        selectOptionWhenLoaded(locationDropdown, customer().location(), false);
     }
 
     /**
-     * Select random option from Address Type dropdown
+     * Select the customer's option from Address Type dropdown, or a random one
      */
     public void selectAddressType() {
+        // JavaScript click is more reliable for this dropdown
+        selectOptionWhenLoaded(addressTypeDropdown, customer().addressType(), true);
+    }
+
+    /**
+     * Open a dropdown, wait until its options are loaded and select one
+     * @param locator By locator of the select element
+     * @param optionText Visible text of the option to select, null for a random option
+     * @param useJsClick true to open the dropdown with a JavaScript click
+     */
+    private void selectOptionWhenLoaded(By locator, String optionText, boolean useJsClick) {
+        openDropdown(locator, useJsClick);
+        selectLoadedOption(locator, optionText, randomFraction());
+    }
+
+    /**
+     * Scroll a dropdown into view and click it, which starts loading its options
+     * @param locator By locator of the select element
+     * @param useJsClick true to open the dropdown with a JavaScript click
+     * @return WebElement of the select
+     */
+    private WebElement openDropdown(By locator, boolean useJsClick) {
         // Wait for element and scroll into view
-        WebElement dropdown = waitHelper.waitForElementPresent(addressTypeDropdown);
+        WebElement dropdown = waitHelper.waitForElementPresent(locator);
         waitHelper.scrollIntoView(dropdown);
-        waitHelper.hardWait(800);
-        
-        // Try JavaScript click first for better reliability
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", dropdown);
-        waitHelper.hardWait(2000);
-        
-        // Select random option
-        dropdown = waitHelper.waitForElementClickable(addressTypeDropdown);
-        selectRandomDropdownOption(dropdown);
+
+        // Click dropdown to trigger loading of options
+        if (useJsClick) {
+            waitHelper.jsClick(dropdown);
+        } else {
+            waitHelper.waitAndClick(locator);
+        }
+        return dropdown;
+    }
+
+    /**
+     * Wait until an opened dropdown has its options and select one
+     * @param locator By locator of the select element
+     * @param optionText Visible text of the option to select, null for a random option
+     * @param fraction Random value picking the option when optionText is null
+     */
+    private void selectLoadedOption(By locator, String optionText, double fraction) {
+        // Select as soon as the real options are present
+        WebElement dropdown = waitHelper.waitForDropdownOptions(locator);
+        // Options still shown by the dependents belong to the previous selection
+        if (locator.equals(zoneDropdown)) {
+            waitHelper.markDropdownsStale(stateDropdown, locationDropdown);
+        } else if (locator.equals(stateDropdown)) {
+            waitHelper.markDropdownsStale(locationDropdown);
+        }
+        if (ConfigReader.isDropdownEngineEnabled()) {
+            dropdownEngine.select(dropdown, optionText, fraction);
+        } else if (optionText != null) {
+            new Select(dropdown).selectByVisibleText(optionText);
+        } else {
+            selectRandomDropdownOption(dropdown, fraction);
+        }
+    }
+
+    /**
+     * Draw the random value a dropdown option is picked with
+     * Drawn before the dropdown is opened, so the scheduled fill takes the same draws in the
+     * same order as the sequential fill whichever dropdown loads first
+     * @return Random fraction
+     */
+    private static double randomFraction() {
+        return RandomDataGenerator.generateRandomFraction();
     }
 
     /**
      * Helper method to select random option from dropdown
+     * Skips placeholders and disabled options and picks like the dropdown engine, so the same
+     * draws select the same options with the engine on or off
      * @param dropdown WebElement of dropdown
+     * @param fraction Random value picking the option
      */
-    private void selectRandomDropdownOption(WebElement dropdown) {
+    private void selectRandomDropdownOption(WebElement dropdown, double fraction) {
         Select select = new Select(dropdown);
-        int optionsCount = select.getOptions().size();
-        if (optionsCount > 1) { // Exclude first option if it's placeholder
-            int randomIndex = RandomDataGenerator.generateRandomDropdownIndex(optionsCount - 1);
-            select.selectByIndex(randomIndex);
+        List<WebElement> options = select.getOptions();
+        List<Integer> real = new ArrayList<>();
+        for (int i = 0; i < options.size(); i++) {
+            WebElement option = options.get(i);
+            if (DropdownEngine.isRealOption(option.getDomProperty("value"), option.getDomAttribute("disabled") != null)) {
+                real.add(i);
+            }
+        }
+        if (real.isEmpty()) {
+            throw new NoSuchElementException("Dropdown has no options");
         }
+        select.selectByIndex(real.get(DropdownEngine.pickIndex(real.size(), fraction)));
     }
 
     /**
@@ -328,36 +357,70 @@ public class AddCustomerPage {
 
     /**
      * Click Save button
+     * With replay.capture.enabled the requests Save issues are recorded for SaveReplayer
      */
     public void clickSave() {
+        boolean capture = ConfigReader.isSaveCaptureEnabled();
+        if (capture) {
+            SaveCapture.arm(driver);
+        }
         waitHelper.waitAndClick(saveButton);
+        if (capture) {
+            SaveCapture.collect(driver);
+        }
     }
 
     /**
-     * Fill all basic details with random data
+     * Wait for the result of Save
+     * Success, session expiry, a duplicate customer and validation errors are checked together,
+     * so a rejected Save is reported as soon as the page shows it
+     * @return Outcome that fired first ({@link #SAVE_SUCCESS} when the customer was created) and its message
+     */
+    public WaitHelper.FiredOutcome waitForSaveOutcome() {
+        List<WaitHelper.Outcome> outcomes = new ArrayList<>();
+        for (String outcome : SAVE_OUTCOMES) {
+            outcomes.add(new WaitHelper.Outcome(outcome, ConfigReader.getSaveOutcomeSelector(outcome),
+                    ConfigReader.getSaveOutcomeText(outcome)));
+        }
+        WaitHelper.FiredOutcome fired = waitHelper.waitForFirstOutcome(outcomes);
+        System.out.println("Save outcome: " + fired.name() + " - " + fired.message());
+        return fired;
+    }
+
+    /**
+     * Fill all basic details with customer data
      */
     public void fillBasicDetails() {
-        fillCustomerNumber();
-        fillCustomerName();
-        fillFatherName();
+        generatedCustomerNumber = customer().customerNumber();
+        generatedCustomerName = customer().customerName();
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(CUSTOMER_NUMBER_ID, generatedCustomerNumber);
+        fields.put(CUSTOMER_NAME_ID, generatedCustomerName);
+        fields.put(FATHER_NAME_ID, customer().fatherName());
+        fillTextFields(fields);
+
         selectCustomerType();
         selectIndustry();
         selectSegment();
     }
 
     /**
-     * Fill all contact details with random data
+     * Fill all contact details with customer data
      */
     public void fillContactDetails() {
-        fillPhoneNumber();
-        fillEmail();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(PHONE_NO_ID, customer().phoneNumber());
+        fields.put(EMAIL_ID, customer().email());
+        fields.put(MOBILE_NO_ID, customer().mobileNumber());
+        fields.put(AADHAAR_NO_ID, customer().aadhaarNumber());
+        fillTextFields(fields);
+
         selectBusinessUnit();
-        fillMobileNumber();
-        fillAadhaarNumber();
     }
 
     /**
-     * Fill all location details with random data
+     * Fill all location details with customer data
      */
     public void fillLocationDetails() {
         selectZone();
@@ -366,12 +429,132 @@ public class AddCustomerPage {
     }
 
     /**
-     * Fill all address details with random data
+     * Fill all address details with customer data
      */
     public void fillAddressDetails() {
         selectAddressType();
-        fillAddress();
-        fillAddress2();
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(ADDRESS_ID, customer().address());
+        fields.put(ADDRESS2_ID, customer().secondaryAddress());
+        fillTextFields(fields);
+    }
+
+    /**
+     * Fill basic, contact, location and address details in one scheduled pass
+     * Dropdowns without a parent are opened together, the text fields are filled while their
+     * options load, and Zone -> State -> Location are selected as each level arrives.
+     * The same values are entered as by the four section fills in sequence, which run instead
+     * when form.fill.scheduler.enabled is false.
+     */
+    public void fillCustomerDetails() {
+        if (!ConfigReader.isFormFillSchedulerEnabled()) {
+            fillBasicDetails();
+            fillContactDetails();
+            fillLocationDetails();
+            fillAddressDetails();
+            return;
+        }
+
+        CustomerRecord data = customer();
+        generatedCustomerNumber = data.customerNumber();
+        generatedCustomerName = data.customerName();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(CUSTOMER_NUMBER_ID, generatedCustomerNumber);
+        fields.put(CUSTOMER_NAME_ID, generatedCustomerName);
+        fields.put(FATHER_NAME_ID, data.fatherName());
+        fields.put(PHONE_NO_ID, data.phoneNumber());
+        fields.put(EMAIL_ID, data.email());
+        fields.put(MOBILE_NO_ID, data.mobileNumber());
+        fields.put(AADHAAR_NO_ID, data.aadhaarNumber());
+        fields.put(ADDRESS_ID, data.address());
+        fields.put(ADDRESS2_ID, data.secondaryAddress());
+
+        if (ConfigReader.isDropdownEngineEnabled()) {
+            // Root dropdowns load side by side; their own loads must not look like dependents
+            dropdownEngine.trackOpenedDropdowns();
+        }
+        // Selections are built in the sequential fill's order, so random picks match it for the same seed
+        new FormFillScheduler()
+                .dropdown("CustomerType", null, () -> openDropdown(customerTypeDropdown, false),
+                        scheduledSelection(customerTypeDropdown, data.customerType()))
+                .dropdown("Industry", null, () -> openDropdown(industryDropdown, false),
+                        scheduledSelection(industryDropdown, data.industry()))
+                .dropdown("Segment", null, () -> openDropdown(segmentDropdown, false),
+                        scheduledSelection(segmentDropdown, data.segment()))
+                .dropdown("BusinessUnit", null, () -> openDropdown(businessUnitDropdown, false),
+                        scheduledSelection(businessUnitDropdown, data.businessUnit()))
+                .dropdown("Zone", null, () -> openDropdown(zoneDropdown, false),
+                        scheduledSelection(zoneDropdown, data.zone()))
+                .dropdown("State", "Zone", () -> openDropdown(stateDropdown, false),
+                        scheduledSelection(stateDropdown, data.state()))
+                .dropdown("Location", "State", () -> openDropdown(locationDropdown, false),
+                        scheduledSelection(locationDropdown, data.location()))
+                .dropdown("AddressType", null, () -> openDropdown(addressTypeDropdown, true),
+                        scheduledSelection(addressTypeDropdown, data.addressType()))
+                .text(() -> fillTextFields(fields))
+                .run(waitHelper::dropdownsReady);
+    }
+
+    private Runnable scheduledSelection(By locator, String optionText) {
+        double fraction = randomFraction();
+        return () -> selectLoadedOption(locator, optionText, fraction);
+    }
+
+    /**
+     * Fill text fields of one section
+     * In batch mode all values are set with a single browser script; fields the
+     * script could not set fall back to the keystroke path
+     * @param fields Field ids mapped to values, in fill order
+     */
+    private void fillTextFields(Map<String, String> fields) {
+        if (!ConfigReader.isBatchFormFill()) {
+            fields.forEach((id, value) -> waitHelper.waitAndSendKeys(By.id(id), value));
+            return;
+        }
+
+        // Make sure the section is rendered before filling it in one go
+        waitHelper.waitForElementVisible(By.id(fields.keySet().iterator().next()));
+
+        Map<String, String> results = waitHelper.fillFieldsById(fields);
+        fields.forEach((id, value) -> {
+            String result = results.get(id);
+            if (!WaitHelper.FILL_OK.equals(result)) {
+                System.out.println("Batched fill of " + id + " returned '" + result + "', using keystrokes");
+                waitHelper.waitAndSendKeys(By.id(id), value);
+            }
+        });
+    }
+
+    /**
+     * Map a customer onto the names of the text fields it fills, as posted by Save
+     * @param customer Customer record
+     * @return Field names mapped to values
+     */
+    public static Map<String, String> textFieldValues(CustomerRecord customer) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(CUSTOMER_NUMBER_ID, customer.customerNumber());
+        fields.put(CUSTOMER_NAME_ID, customer.customerName());
+        fields.put(FATHER_NAME_ID, customer.fatherName());
+        fields.put(PHONE_NO_ID, customer.phoneNumber());
+        fields.put(EMAIL_ID, customer.email());
+        fields.put(MOBILE_NO_ID, customer.mobileNumber());
+        fields.put(AADHAAR_NO_ID, customer.aadhaarNumber());
+        fields.put(ADDRESS_ID, customer.address());
+        fields.put(ADDRESS2_ID, customer.secondaryAddress());
+        fields.put(REMARKS_ID, customer.remarks());
+        return fields;
+    }
+
+    /**
+     * Get the customer this page enters, taking it from the data source on first use
+     * @return Customer record
+     */
+    private CustomerRecord customer() {
+        if (customer == null) {
+            customer = CustomerDataSource.next();
+        }
+        return customer;
     }
 
     /**
@@ -379,6 +562,9 @@ public class AddCustomerPage {
      * @return true if form is displayed
      */
     public boolean isAddCustomerFormDisplayed() {
+        if (ConfigReader.isDomMirrorEnabled()) {
+            return waitHelper.waitForElementVisible(domMirror, customerNumberField);
+        }
         return waitHelper.waitForElementVisible(customerNumberField).isDisplayed();
     }
 
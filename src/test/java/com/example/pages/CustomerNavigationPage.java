@@ -1,8 +1,11 @@
 package com.example.pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 
+import com.example.utils.ConfigReader;
+import com.example.utils.DomMirror;
 import com.example.utils.WaitHelper;
 
 /**
@@ -13,8 +16,10 @@ public class CustomerNavigationPage {
 
     private final WebDriver driver;
     private final WaitHelper waitHelper;
+    private final DomMirror domMirror;
 
     // Locators
+    private final By sidebar = By.xpath("/html/body/div[3]");
     private final By borrowersMenu = By.xpath("/html/body/div[3]/div/div/div/ul/li[2]/a");
     private final By customerSubmenu = By.xpath("/html/body/div[3]/div/div/div/ul/li[2]/ul/li[3]/a");
     private final By addNewCustomerButton = By.xpath("/html/body/div[2]/div/main/div/div/main/div/div[2]/div[1]/div/div[1]/div[2]/div/div[3]/a");
@@ -26,6 +31,7 @@ public class CustomerNavigationPage {
     public CustomerNavigationPage(WebDriver driver) {
         this.driver = driver;
         this.waitHelper = new WaitHelper(driver);
+        this.domMirror = new DomMirror(driver, sidebar);
     }
 
     /**
@@ -63,6 +69,26 @@ public class CustomerNavigationPage {
      * @return true if logged in successfully
      */
     public boolean isLoggedInSuccessfully() {
+        if (ConfigReader.isDomMirrorEnabled()) {
+            return waitHelper.waitForElementVisible(domMirror, borrowersMenu);
+        }
         return waitHelper.waitForElementVisible(borrowersMenu).isDisplayed();
     }
+
+    /**
+     * Quick login check used to revalidate a restored session
+     * @param timeoutInSeconds Maximum time to wait for the Borrowers menu
+     * @return true if logged in
+     */
+    public boolean isLoggedInSuccessfully(int timeoutInSeconds) {
+        try {
+            WaitHelper quickWait = new WaitHelper(driver, timeoutInSeconds);
+            if (ConfigReader.isDomMirrorEnabled()) {
+                return quickWait.waitForElementVisible(domMirror, borrowersMenu);
+            }
+            return quickWait.waitForElementVisible(borrowersMenu).isDisplayed();
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
 }
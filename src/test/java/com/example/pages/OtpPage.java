@@ -3,6 +3,8 @@ package com.example.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import com.example.utils.ConfigReader;
+import com.example.utils.DomMirror;
 import com.example.utils.WaitHelper;
 
 /**
@@ -13,10 +15,12 @@ public class OtpPage {
 
     private final WebDriver driver;
     private final WaitHelper waitHelper;
+    private final DomMirror domMirror;
 
     // Locators
     private final By otpField = By.id("Otp");
     private final By submitButton = By.id("submitbtn");
+    private final By otpForm = By.xpath("//form[.//*[@id='Otp']]");
 
     /**
      * Constructor
@@ -25,6 +29,7 @@ public class OtpPage {
     public OtpPage(WebDriver driver) {
         this.driver = driver;
         this.waitHelper = new WaitHelper(driver);
+        this.domMirror = new DomMirror(driver, otpForm);
     }
 
     /**
@@ -56,6 +61,9 @@ public class OtpPage {
      * @return true if OTP page is displayed
      */
     public boolean isOtpPageDisplayed() {
+        if (ConfigReader.isDomMirrorEnabled()) {
+            return waitHelper.waitForElementVisible(domMirror, otpField);
+        }
         return waitHelper.waitForElementVisible(otpField).isDisplayed();
     }
 }
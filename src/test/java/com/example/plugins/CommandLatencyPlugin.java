@@ -0,0 +1,61 @@
+package com.example.plugins;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.example.utils.CommandLatencyListener;
+import com.example.utils.DriverManager;
+import com.example.utils.StepContext;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tells the WebDriver latency listener which step is running
+ * and writes the command latency report of the run's browser at the end of the run
+ * Usage: com.example.plugins.CommandLatencyPlugin[:output-file]
+ */
+public class CommandLatencyPlugin implements ConcurrentEventListener {
+
+    private static final String DEFAULT_OUTPUT = "test-output/perf/webdriver-commands.json";
+
+    private final Path outputFile;
+    // Plugins are created on the thread that starts the run, which carries the browser in matrix mode
+    private final String browser = DriverManager.getBrowser();
+
+    public CommandLatencyPlugin() {
+        this(DEFAULT_OUTPUT);
+    }
+
+    public CommandLatencyPlugin(String outputFile) {
+        this.outputFile = Paths.get(outputFile);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> StepContext.clear());
+        publisher.registerHandlerFor(TestRunFinished.class,
+                event -> CommandLatencyListener.writeReport(outputFile, browser));
+    }
+
+    /**
+     * Concurrent listeners receive events on the worker thread that runs the step,
+     * so the step name can be kept in a thread local
+     * @param event Step started event
+     */
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            StepContext.setCurrentStep(step.getStep().getText());
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookTestStep hook = (HookTestStep) event.getTestStep();
+            StepContext.setCurrentStep(hook.getHookType() + " hook");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.plugins;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Process-wide latency and throughput figures of a load run
+ * Every virtual user records into the same histograms, so they hold the percentiles of all users
+ */
+public class LoadMetrics {
+
+    /**
+     * Part of the Add Customer flow a step belongs to
+     */
+    public enum Phase {
+        LOGIN, FORM_FILL, SAVE, SCENARIO
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final Map<Phase, ConcurrentHistogram> PHASES = new EnumMap<>(Phase.class);
+    private static final LongAdder PASSED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+
+    static {
+        for (Phase phase : Phase.values()) {
+            PHASES.put(phase, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    private LoadMetrics() {
+    }
+
+    /**
+     * Record time spent in a phase by one scenario
+     * @param phase Flow phase
+     * @param nanos Duration in nanoseconds
+     */
+    public static void record(Phase phase, long nanos) {
+        PHASES.get(phase).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Count a finished scenario
+     * @param passed true if the customer was created
+     */
+    public static void recordOutcome(boolean passed) {
+        (passed ? PASSED : FAILED).increment();
+    }
+
+    /**
+     * Get a snapshot of a phase histogram
+     * @param phase Flow phase
+     * @return Copy of the histogram, values in microseconds
+     */
+    public static Histogram snapshot(Phase phase) {
+        return PHASES.get(phase).copy();
+    }
+
+    /**
+     * Get number of scenarios that created a customer
+     * @return Passed scenario count
+     */
+    public static long getPassed() {
+        return PASSED.sum();
+    }
+
+    /**
+     * Get number of scenarios that failed
+     * @return Failed scenario count
+     */
+    public static long getFailed() {
+        return FAILED.sum();
+    }
+
+    /**
+     * Clear all recorded values
+     */
+    public static void reset() {
+        PHASES.values().forEach(Histogram::reset);
+        PASSED.reset();
+        FAILED.reset();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.plugins;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.plugins.LoadMetrics.Phase;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin that splits each Add Customer scenario into login, form fill and save
+ * and records the time of every phase into {@link LoadMetrics}
+ * Steps are assigned to a phase by their pattern; navigation and the Next buttons count as form fill.
+ * Usage: com.example.plugins.LoadPhasePlugin
+ */
+public class LoadPhasePlugin implements ConcurrentEventListener {
+
+    private static final String[] LOGIN_STEPS = {
+        "application URL", "login page", "Sign In", "OTP", "logged in"
+    };
+    private static final String[] SAVE_STEPS = {
+        "Save button", "created successfully"
+    };
+
+    private final Map<UUID, Map<Phase, Long>> running = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    /**
+     * Get phase a step belongs to
+     * @param pattern Step pattern
+     * @return LOGIN, SAVE or FORM_FILL
+     */
+    public static Phase phaseOf(String pattern) {
+        for (String fragment : SAVE_STEPS) {
+            if (pattern.contains(fragment)) {
+                return Phase.SAVE;
+            }
+        }
+        for (String fragment : LOGIN_STEPS) {
+            if (pattern.contains(fragment)) {
+                return Phase.LOGIN;
+            }
+        }
+        return Phase.FORM_FILL;
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (!(event.getTestStep() instanceof PickleStepTestStep)) {
+            return;
+        }
+        PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+        String pattern = step.getPattern() != null ? step.getPattern() : step.getStep().getText();
+        running.computeIfAbsent(event.getTestCase().getId(), id -> new EnumMap<>(Phase.class))
+                .merge(phaseOf(pattern), event.getResult().getDuration().toNanos(), Long::sum);
+    }
+
+    /**
+     * Phases are only recorded for scenarios that created a customer,
+     * a failed scenario would otherwise pull the percentiles down
+     * @param event Test case finished event
+     */
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Map<Phase, Long> phases = running.remove(event.getTestCase().getId());
+        boolean passed = event.getResult().getStatus() == Status.PASSED;
+        LoadMetrics.recordOutcome(passed);
+        if (!passed) {
+            return;
+        }
+        if (phases != null) {
+            phases.forEach(LoadMetrics::record);
+        }
+        LoadMetrics.record(Phase.SCENARIO, event.getResult().getDuration().toNanos());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.plugins;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openqa.selenium.json.Json;
+
+import com.example.utils.ConfigReader;
+
+/**
+ * Compares step timings of the current run against a committed baseline
+ * A step breaches the gate when its percentile grows by more than the allowed percentage
+ * (and by more than a minimum absolute delta, so very fast steps do not flap). Baseline steps
+ * the run did not execute are listed as missing. A gate that cannot read the baseline or the
+ * timings fails as well, so a broken setup never passes silently. The verdict is written to
+ * perf-gate-result.json next to the summary, so runners and CI can check it without parsing logs.
+ */
+public class PerformanceGate {
+
+    private static final String REPORT_FILE = "perf-gate.txt";
+    public static final String RESULT_FILE = "perf-gate-result.json";
+
+    private PerformanceGate() {
+    }
+
+    /**
+     * Run the gate against a step timing summary and write its verdict
+     * @param summaryFile step-timings.json written for the current run
+     * @return Verdict of the gate
+     */
+    public static Result check(Path summaryFile) {
+        Result result = evaluate(summaryFile);
+        try {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("status", result.status().name());
+            json.put("breaches", result.breaches());
+            json.put("missing", result.missing());
+            Files.writeString(summaryFile.resolveSibling(RESULT_FILE), new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Failed to write performance gate result: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Read the verdict a gate wrote for a run
+     * @param perfDirectory Directory the step timings of the run were written to
+     * @return Verdict, or null if the gate did not run
+     */
+    @SuppressWarnings("unchecked")
+    public static Result readResult(Path perfDirectory) {
+        Path file = perfDirectory.resolve(RESULT_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+            return new Result(Status.valueOf((String) json.get("status")), (List<String>) json.get("breaches"),
+                    (List<String>) json.get("missing"), null);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to read performance gate result: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Result evaluate(Path summaryFile) {
+        Path baselineFile = Paths.get(ConfigReader.getPerfGateBaselineFile());
+        try {
+            if (ConfigReader.isPerfGateUpdateBaseline()) {
+                Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+                Files.copy(summaryFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("Performance baseline updated: " + baselineFile.toAbsolutePath());
+                return new Result(Status.BASELINE_UPDATED, List.of(), List.of(), null);
+            }
+            if (!Files.exists(baselineFile)) {
+                System.out.println("Performance gate skipped, no baseline at " + baselineFile.toAbsolutePath()
+                        + " (run with -Dperf.gate.update.baseline=true to create it)");
+                return new Result(Status.SKIPPED, List.of(), List.of(), null);
+            }
+
+            String metric = ConfigReader.getPerfGateMetric() + "Millis";
+            Map<String, Map<String, Object>> baseline = stepsByKey(baselineFile);
+            Map<String, Map<String, Object>> current = stepsByKey(summaryFile);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%-60s %10s %10s %9s %9s  %s", "Step", "Baseline", "Current", "Change", "Allowed", ""));
+            List<String> breaches = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Object>> entry : current.entrySet()) {
+                Map<String, Object> base = baseline.get(entry.getKey());
+                double now = ((Number) entry.getValue().get(metric)).doubleValue();
+                if (base == null) {
+                    lines.add(String.format("%-60.60s %10s %10.1f %9s %9s  %s", entry.getValue().get("name"),
+                            "-", now, "", "", "no baseline"));
+                    continue;
+                }
+                double before = ((Number) base.get(metric)).doubleValue();
+                double allowed = ConfigReader.getPerfGateTolerancePercent(entry.getKey());
+                double change = before > 0 ? (now - before) * 100.0 / before : 0.0;
+                boolean breached = change > allowed && now - before > ConfigReader.getPerfGateMinDeltaMillis();
+                if (breached) {
+                    breaches.add(entry.getKey());
+                }
+                lines.add(String.format("%-60.60s %10.1f %10.1f %+8.1f%% %+8.1f%%  %s", entry.getValue().get("name"),
+                        before, now, change, allowed, breached ? "BREACH" : "ok"));
+            }
+            List<String> missing = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Object>> entry : new TreeMap<>(baseline).entrySet()) {
+                if (!current.containsKey(entry.getKey())) {
+                    missing.add(entry.getKey());
+                    lines.add(String.format("%-60.60s %10.1f %10s %9s %9s  %s", entry.getValue().get("name"),
+                            ((Number) entry.getValue().get(metric)).doubleValue(), "-", "", "", "MISSING"));
+                }
+            }
+
+            Status status = breaches.isEmpty() ? Status.PASSED : Status.FAILED;
+            String header = String.format("Performance gate %s: %s of %d step(s) against %s, %d breach(es), %d missing",
+                    status == Status.FAILED ? "FAILED" : "passed", ConfigReader.getPerfGateMetric(), lines.size() - 1,
+                    baselineFile, breaches.size(), missing.size());
+            String report = header + System.lineSeparator() + String.join(System.lineSeparator(), lines);
+            Files.writeString(summaryFile.resolveSibling(REPORT_FILE), report + System.lineSeparator(),
+                    StandardCharsets.UTF_8);
+            System.out.println(report);
+            if (!missing.isEmpty()) {
+                System.err.println("Performance gate: " + missing.size()
+                        + " baseline step(s) did not run and were not checked: " + missing);
+            }
+            return new Result(status, breaches, missing, report);
+        } catch (IOException | RuntimeException e) {
+            String report = "Performance gate could not run: " + e;
+            System.err.println(report);
+            return new Result(Status.ERROR, List.of(), List.of(), report);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> stepsByKey(Path file) throws IOException {
+        Map<String, Object> summary = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+        Map<String, Map<String, Object>> steps = new HashMap<>();
+        for (Map<String, Object> step : (List<Map<String, Object>>) summary.get("steps")) {
+            steps.put((String) step.get("key"), step);
+        }
+        return steps;
+    }
+
+    /**
+     * Outcome of a gate run
+     */
+    public enum Status {
+        PASSED, FAILED, SKIPPED, BASELINE_UPDATED, ERROR
+    }
+
+    /**
+     * Verdict of a gate run
+     * @param status Outcome
+     * @param breaches Keys of the steps slower than allowed
+     * @param missing Keys of the baseline steps the run did not execute
+     * @param report Diff table, null when read back from the result file
+     */
+    public record Result(Status status, List<String> breaches, List<String> missing, String report) {
+
+        /**
+         * Check if the run must fail
+         * @return true if a step breached the gate or the gate could not run
+         */
+        public boolean failed() {
+            return status == Status.FAILED || status == Status.ERROR;
+        }
+    }
+}
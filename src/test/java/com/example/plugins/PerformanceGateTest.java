@@ -0,0 +1,169 @@
+package com.example.plugins;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.json.Json;
+
+import com.example.plugins.PerformanceGate.Result;
+import com.example.plugins.PerformanceGate.Status;
+
+public class PerformanceGateTest {
+
+    @TempDir
+    Path directory;
+
+    private Path baseline;
+    private Path summary;
+
+    @BeforeEach
+    void configure() {
+        baseline = directory.resolve("baseline").resolve("step-timings-baseline.json");
+        summary = directory.resolve("step-timings.json");
+        System.setProperty("perf.gate.baseline.file", baseline.toString());
+        System.setProperty("perf.gate.update.baseline", "false");
+        System.setProperty("perf.gate.metric", "p95");
+        System.setProperty("perf.gate.default.tolerance.percent", "10");
+        System.setProperty("perf.gate.min.delta.millis", "50");
+    }
+
+    @AfterEach
+    void restore() {
+        System.clearProperty("perf.gate.baseline.file");
+        System.clearProperty("perf.gate.update.baseline");
+        System.clearProperty("perf.gate.metric");
+        System.clearProperty("perf.gate.default.tolerance.percent");
+        System.clearProperty("perf.gate.min.delta.millis");
+        System.clearProperty("perf.gate.tolerance.save");
+    }
+
+    @Test
+    void passesWithinTolerance() throws IOException {
+        write(baseline, Map.of("save", 1000.0));
+        write(summary, Map.of("save", 1090.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.PASSED, result.status());
+        assertFalse(result.failed());
+        assertEquals(result.status(), PerformanceGate.readResult(directory).status());
+    }
+
+    @Test
+    void failsWhenAStepIsSlowerThanItsTolerance() throws IOException {
+        write(baseline, Map.of("save", 1000.0, "login", 1000.0));
+        write(summary, Map.of("save", 1200.0, "login", 1000.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.FAILED, result.status());
+        assertTrue(result.failed());
+        assertEquals(List.of("save"), result.breaches());
+        assertTrue(PerformanceGate.readResult(directory).failed());
+    }
+
+    @Test
+    void usesTheToleranceOfTheStep() throws IOException {
+        System.setProperty("perf.gate.tolerance.save", "25");
+        write(baseline, Map.of("save", 1000.0));
+        write(summary, Map.of("save", 1200.0));
+
+        assertEquals(Status.PASSED, PerformanceGate.check(summary).status());
+    }
+
+    @Test
+    void ignoresSlowdownsBelowTheMinimumDelta() throws IOException {
+        write(baseline, Map.of("save", 100.0));
+        write(summary, Map.of("save", 140.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.PASSED, result.status());
+        assertTrue(result.breaches().isEmpty());
+    }
+
+    @Test
+    void listsBaselineStepsThatDidNotRunWithoutFailing() throws IOException {
+        write(baseline, Map.of("save", 1000.0, "search", 500.0));
+        write(summary, Map.of("save", 1000.0, "export", 300.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.PASSED, result.status());
+        assertEquals(List.of("search"), result.missing());
+        assertTrue(result.report().contains("no baseline"));
+    }
+
+    @Test
+    void skipsWithoutABaseline() throws IOException {
+        write(summary, Map.of("save", 1000.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.SKIPPED, result.status());
+        assertFalse(result.failed());
+    }
+
+    @Test
+    void replacesTheBaselineWhenUpdating() throws IOException {
+        System.setProperty("perf.gate.update.baseline", "true");
+        write(baseline, Map.of("save", 1000.0));
+        write(summary, Map.of("save", 5000.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.BASELINE_UPDATED, result.status());
+        assertFalse(result.failed());
+        assertEquals(Files.readString(summary), Files.readString(baseline));
+    }
+
+    @Test
+    void failsWhenTheBaselineCannotBeRead() throws IOException {
+        Files.createDirectories(baseline.getParent());
+        Files.writeString(baseline, "{\"steps\": ", StandardCharsets.UTF_8);
+        write(summary, Map.of("save", 1000.0));
+
+        Result result = PerformanceGate.check(summary);
+
+        assertEquals(Status.ERROR, result.status());
+        assertTrue(result.failed());
+        assertTrue(result.report().startsWith("Performance gate could not run"));
+        assertTrue(PerformanceGate.readResult(directory).failed());
+    }
+
+    @Test
+    void failsWhenTheTimingsHaveNoMetric() throws IOException {
+        System.setProperty("perf.gate.metric", "p90");
+        write(baseline, Map.of("save", 1000.0));
+        write(summary, Map.of("save", 1000.0));
+
+        assertEquals(Status.ERROR, PerformanceGate.check(summary).status());
+    }
+
+    private static void write(Path file, Map<String, Double> p95ByKey) throws IOException {
+        List<Map<String, Object>> steps = new ArrayList<>();
+        p95ByKey.forEach((key, p95) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", key);
+            row.put("key", key);
+            row.put("p95Millis", p95);
+            steps.add(row);
+        });
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(Map.of("steps", steps)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.plugins;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.openqa.selenium.json.Json;
+
+import com.example.utils.ConfigReader;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin that aggregates step and scenario durations across a run
+ * Durations of passed steps go into HdrHistograms keyed by step pattern, so parameterised
+ * steps share one histogram. Safe under parallel execution.
+ * Writes a summary table, a JSON summary and a mergeable HdrHistogram log per run,
+ * then runs the {@link PerformanceGate} when it is enabled.
+ * Usage: com.example.plugins.StepTimingPlugin[:output-directory]
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    public static final String SUMMARY_JSON = "step-timings.json";
+    private static final String SUMMARY_TABLE = "step-timings.txt";
+    private static final String HISTORY_DIR = "history";
+    private static final String DEFAULT_OUTPUT = "test-output/perf";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Path outputDirectory;
+    private final Map<String, Timing> steps = new ConcurrentHashMap<>();
+    private final Map<String, Timing> scenarios = new ConcurrentHashMap<>();
+    private volatile Instant runStarted = Instant.now();
+
+    public StepTimingPlugin() {
+        this(DEFAULT_OUTPUT);
+    }
+
+    public StepTimingPlugin(String outputDirectory) {
+        this.outputDirectory = Paths.get(outputDirectory);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStarted = event.getInstant());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReports(event.getInstant()));
+    }
+
+    /**
+     * Turn a step pattern into a key usable in property files and histogram log tags
+     * e.g. "I enter email {string} in the login page" becomes i_enter_email_string_in_the_login_page
+     * @param name Step pattern or scenario name
+     * @return Lower-case key made of letters, digits and underscores
+     */
+    public static String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_+|_+$", "");
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (!(event.getTestStep() instanceof PickleStepTestStep)) {
+            return;
+        }
+        PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+        String pattern = step.getPattern() != null ? step.getPattern() : step.getStep().getText();
+        steps.computeIfAbsent(pattern, k -> new Timing()).record(event.getResult().getStatus(),
+                event.getResult().getDuration().toNanos());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        scenarios.computeIfAbsent(event.getTestCase().getName(), k -> new Timing()).record(event.getResult().getStatus(),
+                event.getResult().getDuration().toNanos());
+    }
+
+    private void writeReports(Instant runFinished) {
+        if (steps.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(outputDirectory.resolve(HISTORY_DIR));
+            writeSummaryTable(outputDirectory.resolve(SUMMARY_TABLE));
+            writeSummaryJson(outputDirectory.resolve(SUMMARY_JSON), runFinished);
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(Date.from(runStarted));
+            writeHistogramLog(outputDirectory.resolve(HISTORY_DIR).resolve("step-timings-" + timestamp + ".hlog"),
+                    runFinished);
+            System.out.println("Step timings written to " + outputDirectory.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write step timings: " + e.getMessage());
+            return;
+        }
+
+        // The verdict is also in perf-gate-result.json. Under the JUnit Platform (mvn test) this
+        // error marks the Cucumber engine as failed, so the run and the build fail; Main.run
+        // passes it on to its caller, which MatrixRunner turns into a failed status.
+        if (ConfigReader.isPerfGateEnabled()) {
+            PerformanceGate.Result result = PerformanceGate.check(outputDirectory.resolve(SUMMARY_JSON));
+            if (result.failed()) {
+                throw new AssertionError(result.report());
+            }
+        }
+    }
+
+    private void writeSummaryTable(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            printTable(out, "Step", steps);
+            out.println();
+            printTable(out, "Scenario", scenarios);
+        }
+    }
+
+    private static void printTable(PrintStream out, String title, Map<String, Timing> timings) {
+        out.printf("%-70s %7s %6s %10s %10s %10s %10s%n", title, "Count", "Fail", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        new TreeMap<>(timings).forEach((name, timing) -> {
+            Histogram h = timing.histogram.copy();
+            out.printf("%-70.70s %7d %6d %10.1f %10.1f %10.1f %10.1f%n", name, h.getTotalCount(), timing.failed.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getMaxValue()));
+        });
+    }
+
+    private void writeSummaryJson(Path file, Instant runFinished) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runStarted", runStarted.toString());
+        report.put("runFinished", runFinished.toString());
+        report.put("unit", "milliseconds");
+        report.put("steps", rows(steps));
+        report.put("scenarios", rows(scenarios));
+        Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+    }
+
+    private static List<Map<String, Object>> rows(Map<String, Timing> timings) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(timings).forEach((name, timing) -> {
+            Histogram h = timing.histogram.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", name);
+            row.put("key", toKey(name));
+            row.put("count", h.getTotalCount());
+            row.put("failed", timing.failed.sum());
+            row.put("meanMillis", h.getTotalCount() == 0 ? 0.0 : h.getMean() / 1000.0);
+            row.put("p50Millis", millis(h.getValueAtPercentile(50)));
+            row.put("p95Millis", millis(h.getValueAtPercentile(95)));
+            row.put("p99Millis", millis(h.getValueAtPercentile(99)));
+            row.put("maxMillis", millis(h.getMaxValue()));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    /**
+     * One interval per step and scenario, tagged with its key, so logs from several
+     * runs can be read back with HistogramLogReader and added together
+     */
+    private void writeHistogramLog(Path file, Instant runFinished) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("Cucumber step and scenario durations in microseconds");
+            writer.outputStartTime(runStarted.toEpochMilli());
+            writer.setBaseTime(runStarted.toEpochMilli());
+            writer.outputLegend();
+            writeIntervals(writer, "step.", steps, runFinished);
+            writeIntervals(writer, "scenario.", scenarios, runFinished);
+        }
+    }
+
+    private void writeIntervals(HistogramLogWriter writer, String prefix, Map<String, Timing> timings,
+                                Instant runFinished) {
+        timings.forEach((name, timing) -> {
+            Histogram h = timing.histogram.copy();
+            h.setTag(prefix + toKey(name));
+            h.setStartTimeStamp(runStarted.toEpochMilli());
+            h.setEndTimeStamp(runFinished.toEpochMilli());
+            writer.outputIntervalHistogram(h);
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Histogram of passed durations plus a failure counter
+     */
+    private static final class Timing {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder failed = new LongAdder();
+
+        private void record(Status status, long nanos) {
+            if (status == Status.PASSED) {
+                histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+            } else if (status == Status.FAILED) {
+                failed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+import com.example.stub.StubLmsServer;
+import com.example.utils.ConfigReader;
+import com.example.utils.SessionExecutors;
+
+/**
+ * Compares virtual threads against a fixed platform thread pool for running session flows
+ * Each flow replays what a browser session does against the stub LMS over HTTP: login, OTP,
+ * the Zone/State/Location dropdown loads and the save, blocking on the simulated server delays
+ * exactly like a session blocks on driver calls and waits. No browser is needed.
+ * Usage: mvn test-compile exec:java -Dexec.mainClass=com.example.runner.ExecutorBenchmark -Dbenchmark.sessions=500
+ */
+public class ExecutorBenchmark {
+
+    private static final String REPORT_FILE = "executor-benchmark.json";
+    private static final int WARMUP_SESSIONS = 20;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private final Json json = new Json();
+    private final String baseUrl;
+
+    public ExecutorBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int sessions = ConfigReader.getBenchmarkSessions();
+        int platformThreads = ConfigReader.getBenchmarkPlatformThreads();
+
+        StubLmsServer server = new StubLmsServer(0);
+        server.start();
+        List<Map<String, Object>> results = new ArrayList<>();
+        try {
+            ExecutorBenchmark benchmark = new ExecutorBenchmark(server.getBaseUrl());
+            benchmark.run(SessionExecutors.VIRTUAL, WARMUP_SESSIONS, platformThreads);
+            results.add(benchmark.run(SessionExecutors.PLATFORM, sessions, platformThreads));
+            results.add(benchmark.run(SessionExecutors.VIRTUAL, sessions, platformThreads));
+        } finally {
+            server.stop();
+        }
+
+        System.out.printf("%-10s %9s %8s %10s %12s %10s %10s %10s %12s%n", "Executor", "Sessions", "Failed",
+                "Wall(s)", "Sessions/s", "p50(ms)", "p95(ms)", "p99(ms)", "PeakThreads");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-10s %9d %8d %10.2f %12.1f %10.1f %10.1f %10.1f %12d%n", result.get("executor"),
+                    result.get("sessions"), result.get("failed"), result.get("wallSeconds"),
+                    result.get("sessionsPerSecond"), result.get("p50Millis"), result.get("p95Millis"),
+                    result.get("p99Millis"), result.get("peakThreads"));
+        }
+
+        Path outputDirectory = Paths.get(ConfigReader.getLoadOutputDirectory());
+        Files.createDirectories(outputDirectory);
+        Files.writeString(outputDirectory.resolve(REPORT_FILE), new Json().toJson(results), StandardCharsets.UTF_8);
+        System.out.println("Executor benchmark written to " + outputDirectory.resolve(REPORT_FILE).toAbsolutePath());
+    }
+
+    /**
+     * Run the given number of session flows concurrently on one executor type
+     * @param type virtual or platform
+     * @param sessions Number of session flows
+     * @param platformThreads Pool size for the platform executor
+     * @return Result row with wall time, flow percentiles and peak JVM thread count
+     */
+    public Map<String, Object> run(String type, int sessions, int platformThreads) {
+        ConcurrentHistogram flows = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicInteger failed = new AtomicInteger();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = SessionExecutors.create(type, platformThreads, "bench-" + type + "-")) {
+            for (int i = 0; i < sessions; i++) {
+                String customerNo = type.charAt(0) + Long.toString(System.nanoTime(), 36) + i;
+                executor.submit(() -> {
+                    long flowStart = System.nanoTime();
+                    try {
+                        runFlow(customerNo);
+                        flows.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - flowStart),
+                                HIGHEST_TRACKABLE_MICROS));
+                    } catch (IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        System.err.println("Session flow failed: " + e.getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        Histogram h = flows.copy();
+        double wallSeconds = wallNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("executor", type);
+        result.put("sessions", sessions);
+        result.put("platformThreads", SessionExecutors.PLATFORM.equals(type) ? platformThreads : 0);
+        result.put("failed", failed.get());
+        result.put("wallSeconds", wallSeconds);
+        result.put("sessionsPerSecond", (sessions - failed.get()) / wallSeconds);
+        result.put("p50Millis", h.getValueAtPercentile(50) / 1000.0);
+        result.put("p95Millis", h.getValueAtPercentile(95) / 1000.0);
+        result.put("p99Millis", h.getValueAtPercentile(99) / 1000.0);
+        result.put("peakThreads", threads.getPeakThreadCount());
+        return result;
+    }
+
+    /**
+     * Log in, load the cascading dropdowns and save one customer
+     * @param customerNo Unique customer number
+     * @throws IOException if a request fails or returns an unexpected status
+     * @throws InterruptedException if interrupted while blocked on a request
+     */
+    private void runFlow(String customerNo) throws IOException, InterruptedException {
+        StringBuilder cookies = new StringBuilder();
+        post("Account/Login", cookies, "application/x-www-form-urlencoded",
+                "email=" + encode(ConfigReader.getLoginEmail()) + "&password=" + encode(ConfigReader.getLoginPassword()),
+                302);
+        post("Account/Otp", cookies, "application/x-www-form-urlencoded", "otp=" + encode(ConfigReader.getOtpCode()),
+                302);
+
+        String zone = firstOption(cookies, "zone", "");
+        String state = firstOption(cookies, "state", zone);
+        String location = firstOption(cookies, "location", state);
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("CustomerNo", customerNo);
+        customer.put("Name", "Benchmark " + customerNo);
+        customer.put("Zone", zone);
+        customer.put("State", state);
+        customer.put("Location", location);
+        post("api/customers", cookies, "application/json", json.toJson(customer), 200);
+    }
+
+    private String firstOption(StringBuilder cookies, String list, String parent)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "api/options?list=" + encode(list)
+                        + "&parent=" + encode(parent)))
+                .header("Cookie", cookies.toString())
+                .GET()
+                .build();
+        HttpResponse<String> response = send(request, 200);
+        List<?> options = json.toType(response.body(), List.class);
+        if (options.isEmpty()) {
+            throw new IOException("No options for " + list);
+        }
+        return String.valueOf(((Map<?, ?>) options.get(0)).get("value"));
+    }
+
+    private void post(String path, StringBuilder cookies, String contentType, String body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", contentType)
+                .header("Cookie", cookies.toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = send(request, expectedStatus);
+        for (String setCookie : response.headers().allValues("Set-Cookie")) {
+            if (cookies.length() > 0) {
+                cookies.append("; ");
+            }
+            cookies.append(setCookie.split(";", 2)[0]);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException(request.uri().getPath() + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
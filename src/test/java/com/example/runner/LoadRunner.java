@@ -0,0 +1,281 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+import com.example.plugins.LoadMetrics;
+import com.example.plugins.LoadMetrics.Phase;
+import com.example.utils.ConfigReader;
+import com.example.utils.CustomerDataSource;
+import com.example.utils.CustomerFeed;
+import com.example.utils.CustomerRecord;
+import com.example.utils.DriverPool;
+import com.example.utils.SessionExecutors;
+
+import io.cucumber.core.cli.Main;
+
+/**
+ * Load mode: drives N concurrent headless virtual users through the Add Customer feature
+ * Every iteration is a regular Cucumber run of the same feature, step definitions and page objects,
+ * so the flow stays defined in one place; scenarios tagged @scheduled-fill are left out, so an
+ * iteration creates exactly one customer. Users are started evenly over the ramp-up and loop
+ * until the iteration count or the duration is used up. Users run on virtual threads by default
+ * (load.executor=platform for one OS thread per user), so one JVM can coordinate hundreds of sessions.
+ * Writes customers per minute and login, form fill and save percentiles to test-output/load.
+ * With data.source=feed every iteration enters the next record of the data file; without a fixed
+ * iteration count the run lasts until the file is used up, and records whose scenario failed are
+ * written to failed-records.jsonl so they can be fed again.
+ * Usage: mvn test-compile exec:java -Dload.users=10 -Dload.duration.seconds=600
+ */
+public class LoadRunner {
+
+    private static final String GLUE = "com.example.stepdefinitions";
+    private static final String PHASE_PLUGIN = "com.example.plugins.LoadPhasePlugin";
+    // One scenario per iteration: the one-pass fill variant would create a second customer
+    // with a record the feed assignment does not cover
+    private static final String TAGS = "not @ignore and not @scheduled-fill";
+    private static final String SUMMARY_TABLE = "load-summary.txt";
+    private static final String SUMMARY_JSON = "load-summary.json";
+    private static final String FAILED_RECORDS = "failed-records.jsonl";
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+
+    private final int users = ConfigReader.getLoadUsers();
+    private final int rampUpSeconds = ConfigReader.getLoadRampUpSeconds();
+    private final int durationSeconds = ConfigReader.getLoadDurationSeconds();
+    private final int iterations = ConfigReader.getLoadIterations();
+    private final String executor = ConfigReader.getLoadExecutor();
+    private final String feature = ConfigReader.getLoadFeature();
+    private final Path outputDirectory = Paths.get(ConfigReader.getLoadOutputDirectory());
+    private final boolean feed = ConfigReader.isDataFeedEnabled();
+
+    private final AtomicLong claimedIterations = new AtomicLong();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final AtomicLong failedRecords = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long deadlineNanos;
+
+    public static void main(String[] args) throws InterruptedException {
+        // Load mode is headless unless explicitly asked otherwise
+        if (System.getProperty("headless.mode") == null) {
+            System.setProperty("headless.mode", "true");
+        }
+        System.setProperty("cucumber.publish.quiet", "true");
+
+        boolean success = new LoadRunner().run();
+        DriverPool.shutdownAll();
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * Run all virtual users to completion and write the report
+     * @return true if at least one customer was created and no iteration failed
+     * @throws InterruptedException if interrupted while waiting for the users
+     */
+    public boolean run() throws InterruptedException {
+        LoadMetrics.reset();
+        System.out.println("Load run: " + users + " " + executor + " users, ramp-up " + rampUpSeconds + "s, "
+                + (iterations > 0 ? iterations + " iterations" : feed ? "until the feed is used up"
+                : durationSeconds + "s"));
+
+        Instant started = Instant.now();
+        startNanos = System.nanoTime();
+        deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("load-progress").daemon(true).factory());
+        progress.scheduleAtFixedRate(this::printProgress, PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+
+        ExecutorService pool = SessionExecutors.create(executor, users, "load-user-");
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            pool.submit(() -> runUser(user));
+        }
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        progress.shutdownNow();
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        writeReports(started, elapsedNanos);
+        if (feed) {
+            CustomerFeed customerFeed = CustomerFeed.getInstance();
+            System.out.println("Customer feed: " + customerFeed.getDelivered() + " records entered, "
+                    + customerFeed.getRejected() + " lines rejected, " + failedRecords.get() + " failed"
+                    + (failedRecords.get() > 0 ? " (see " + outputDirectory.resolve(FAILED_RECORDS) + ")" : ""));
+        }
+        return LoadMetrics.getPassed() > 0 && LoadMetrics.getFailed() == 0;
+    }
+
+    /**
+     * Wait for this user's ramp-up slot, then run iterations until none are left
+     * @param user Zero-based user index
+     */
+    private void runUser(int user) {
+        long delayMillis = TimeUnit.SECONDS.toMillis(rampUpSeconds) * user / users;
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        activeUsers.incrementAndGet();
+        try {
+            while (claimIteration()) {
+                CustomerRecord record = null;
+                if (feed) {
+                    record = CustomerFeed.getInstance().next();
+                    if (record == null) {
+                        break;
+                    }
+                    CustomerDataSource.assign(record);
+                }
+                byte status;
+                try {
+                    status = Main.run(cucumberArguments(), Thread.currentThread().getContextClassLoader());
+                } catch (RuntimeException e) {
+                    System.err.println(Thread.currentThread().getName() + " iteration failed: " + e.getMessage());
+                    LoadMetrics.recordOutcome(false);
+                    status = 1;
+                }
+                if (status != 0 && record != null) {
+                    writeFailedRecord(record);
+                }
+            }
+        } finally {
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    private boolean claimIteration() {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        if (iterations > 0) {
+            return claimedIterations.incrementAndGet() <= iterations;
+        }
+        // A feed runs until it is used up
+        if (!feed && System.nanoTime() >= deadlineNanos) {
+            return false;
+        }
+        claimedIterations.incrementAndGet();
+        return true;
+    }
+
+    private String[] cucumberArguments() {
+        return new String[] {
+            "--glue", GLUE,
+            "--plugin", PHASE_PLUGIN,
+            "--tags", TAGS,
+            "--monochrome",
+            feature
+        };
+    }
+
+    /**
+     * Append a record whose scenario failed to the failed records file, in the feed's JSONL format
+     * @param record Record as read from the feed
+     */
+    private synchronized void writeFailedRecord(CustomerRecord record) {
+        failedRecords.incrementAndGet();
+        try {
+            Files.createDirectories(outputDirectory);
+            try (Writer out = Files.newBufferedWriter(outputDirectory.resolve(FAILED_RECORDS), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                new Json().newOutput(out).setPrettyPrint(false).write(record.toValues());
+                out.write(System.lineSeparator());
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write failed record: " + e.getMessage());
+        }
+    }
+
+    private void printProgress() {
+        double minutes = (System.nanoTime() - startNanos) / (double) TimeUnit.MINUTES.toNanos(1);
+        System.out.printf("Load: %d/%d users active, %d created, %d failed, %.1f customers/min%n",
+                activeUsers.get(), users, LoadMetrics.getPassed(), LoadMetrics.getFailed(),
+                LoadMetrics.getPassed() / minutes);
+    }
+
+    private void writeReports(Instant started, long elapsedNanos) {
+        double minutes = elapsedNanos / (double) TimeUnit.MINUTES.toNanos(1);
+        double customersPerMinute = minutes > 0 ? LoadMetrics.getPassed() / minutes : 0;
+        try {
+            Files.createDirectories(outputDirectory);
+            writeSummaryTable(outputDirectory.resolve(SUMMARY_TABLE), elapsedNanos, customersPerMinute);
+            writeSummaryJson(outputDirectory.resolve(SUMMARY_JSON), started, elapsedNanos, customersPerMinute);
+            System.out.println("Load report written to " + outputDirectory.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write load report: " + e.getMessage());
+        }
+    }
+
+    private void writeSummaryTable(Path file, long elapsedNanos, double customersPerMinute) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            out.printf("Users: %d (%s threads), ramp-up: %ds, elapsed: %.1fs%n", users, executor, rampUpSeconds,
+                    elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+            out.printf("Customers created: %d, failed: %d, throughput: %.2f customers/min%n%n",
+                    LoadMetrics.getPassed(), LoadMetrics.getFailed(), customersPerMinute);
+            out.printf("%-12s %7s %10s %10s %10s %10s %10s%n", "Phase", "Count", "mean(ms)", "p50(ms)", "p95(ms)",
+                    "p99(ms)", "max(ms)");
+            for (Phase phase : Phase.values()) {
+                Histogram h = LoadMetrics.snapshot(phase);
+                out.printf("%-12s %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n", phase, h.getTotalCount(),
+                        h.getTotalCount() == 0 ? 0.0 : h.getMean() / 1000.0, millis(h.getValueAtPercentile(50)),
+                        millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)),
+                        millis(h.getMaxValue()));
+            }
+        }
+        System.out.println(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    private void writeSummaryJson(Path file, Instant started, long elapsedNanos, double customersPerMinute)
+            throws IOException {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            Histogram h = LoadMetrics.snapshot(phase);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", h.getTotalCount());
+            row.put("meanMillis", h.getTotalCount() == 0 ? 0.0 : h.getMean() / 1000.0);
+            row.put("p50Millis", millis(h.getValueAtPercentile(50)));
+            row.put("p95Millis", millis(h.getValueAtPercentile(95)));
+            row.put("p99Millis", millis(h.getValueAtPercentile(99)));
+            row.put("maxMillis", millis(h.getMaxValue()));
+            phases.put(phase.name().toLowerCase(), row);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("started", started.toString());
+        report.put("users", users);
+        report.put("executor", executor);
+        report.put("rampUpSeconds", rampUpSeconds);
+        report.put("elapsedSeconds", elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        report.put("customersCreated", LoadMetrics.getPassed());
+        report.put("failed", LoadMetrics.getFailed());
+        report.put("customersPerMinute", customersPerMinute);
+        report.put("phases", phases);
+        Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.json.Json;
+
+import com.example.plugins.PerformanceGate;
+import com.example.plugins.StepTimingPlugin;
+import com.example.utils.ConfigReader;
+import com.example.utils.DriverManager;
+import com.example.utils.DriverPool;
+
+import io.cucumber.core.cli.Main;
+
+/**
+ * Matrix mode: runs the selected scenarios on several browsers at the same time in one JVM
+ * Every browser gets its own Cucumber run on its own thread, with its own worker threads,
+ * browser pool, reports and step timings under test-output/matrix/&lt;browser&gt;. The combined
+ * summary compares scenario results and step percentiles across the browsers.
+ * Usage: mvn test-compile exec:java -Dexec.mainClass=com.example.runner.MatrixRunner -Dmatrix.browsers=chrome,firefox
+ */
+public class MatrixRunner {
+
+    private static final String GLUE = "com.example.stepdefinitions";
+    private static final String SUMMARY_TABLE = "matrix-summary.txt";
+    private static final String SUMMARY_JSON = "matrix-summary.json";
+
+    private final List<String> browsers = new ArrayList<>();
+    private final int threadsPerBrowser = ConfigReader.getMatrixThreadsPerBrowser();
+    private final String features = ConfigReader.getMatrixFeatures();
+    private final String tags = ConfigReader.getMatrixTags();
+    private final Path outputDirectory = Paths.get(ConfigReader.getMatrixOutputDirectory());
+
+    public MatrixRunner() {
+        for (String browser : ConfigReader.getMatrixBrowsers().split(",")) {
+            if (!browser.isBlank()) {
+                browsers.add(browser.trim().toLowerCase());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("cucumber.publish.quiet", "true");
+        boolean success = new MatrixRunner().run();
+        DriverPool.shutdownAll();
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * Run every browser to completion and write the combined summary
+     * @return true if the run passed on every browser
+     * @throws InterruptedException if interrupted while waiting for the browsers
+     */
+    public boolean run() throws InterruptedException {
+        System.out.println("Matrix run: " + browsers + ", " + threadsPerBrowser + " threads per browser");
+        Instant started = Instant.now();
+
+        List<Callable<BrowserResult>> runs = new ArrayList<>();
+        for (String browser : browsers) {
+            runs.add(() -> runBrowser(browser));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(browsers.size(),
+                Thread.ofPlatform().name("matrix-", 1).factory());
+        List<BrowserResult> results = new ArrayList<>();
+        try {
+            for (Future<BrowserResult> future : pool.invokeAll(runs)) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Matrix run failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        writeReports(started, results);
+        return results.stream().allMatch(result -> result.status() == 0);
+    }
+
+    /**
+     * Run the scenarios on one browser
+     * The browser is set before Cucumber starts its worker threads, which inherit it
+     * @param browser Browser name
+     * @return Exit status and wall time of the run
+     */
+    private BrowserResult runBrowser(String browser) {
+        DriverManager.setBrowser(browser);
+        Path directory = outputDirectory.resolve(browser);
+        long start = System.nanoTime();
+        byte status;
+        try {
+            // A verdict left by an earlier run must not decide this one
+            Files.deleteIfExists(directory.resolve("perf").resolve(PerformanceGate.RESULT_FILE));
+        } catch (IOException e) {
+            System.err.println("Failed to remove old performance gate result: " + e.getMessage());
+        }
+        try {
+            status = Main.run(cucumberArguments(directory), Thread.currentThread().getContextClassLoader());
+        } catch (RuntimeException | AssertionError e) {
+            System.err.println("Matrix run on " + browser + " failed: " + e.getMessage());
+            status = 1;
+        }
+        PerformanceGate.Result gate = PerformanceGate.readResult(directory.resolve("perf"));
+        if (gate != null && gate.failed()) {
+            System.err.println("Performance gate " + gate.status() + " on " + browser + ": " + gate.breaches());
+            status = 1;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        System.out.println("Matrix run on " + browser + " finished with status " + status);
+        return new BrowserResult(browser, status, elapsedNanos, directory);
+    }
+
+    private String[] cucumberArguments(Path directory) {
+        return new String[] {
+            "--glue", GLUE,
+            "--threads", String.valueOf(threadsPerBrowser),
+            "--tags", tags,
+            "--plugin", "summary",
+            "--plugin", "html:" + directory.resolve("cucumber.html"),
+            "--plugin", "json:" + directory.resolve("cucumber.json"),
+            "--plugin", "junit:" + directory.resolve("cucumber.xml"),
+            "--plugin", "com.example.plugins.CommandLatencyPlugin:" + directory.resolve("perf/webdriver-commands.json"),
+            "--plugin", "com.example.plugins.StepTimingPlugin:" + directory.resolve("perf"),
+            "--monochrome",
+            features
+        };
+    }
+
+    private void writeReports(Instant started, List<BrowserResult> results) {
+        Map<String, Map<String, Object>> timings = new LinkedHashMap<>();
+        for (BrowserResult result : results) {
+            timings.put(result.browser(), readStepTimings(result));
+        }
+        try {
+            Files.createDirectories(outputDirectory);
+            writeSummaryTable(outputDirectory.resolve(SUMMARY_TABLE), results, timings);
+            writeSummaryJson(outputDirectory.resolve(SUMMARY_JSON), started, results, timings);
+            System.out.println("Matrix summary written to " + outputDirectory.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write matrix summary: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readStepTimings(BrowserResult result) {
+        Path file = result.directory().resolve("perf").resolve(StepTimingPlugin.SUMMARY_JSON);
+        try {
+            return new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+        } catch (IOException e) {
+            System.err.println("No step timings for " + result.browser() + ": " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void writeSummaryTable(Path file, List<BrowserResult> results, Map<String, Map<String, Object>> timings)
+            throws IOException {
+        Map<String, Map<String, Map<String, Object>>> steps = byName(timings, "steps");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            out.printf("%-10s %7s %9s %9s %10s%n", "Browser", "Status", "Passed", "Failed", "Wall(s)");
+            for (BrowserResult result : results) {
+                long[] counts = scenarioCounts(timings.get(result.browser()));
+                out.printf("%-10s %7s %9d %9d %10.1f%n", result.browser(), result.status() == 0 ? "PASSED" : "FAILED",
+                        counts[0], counts[1], result.elapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+            }
+            out.println();
+
+            out.printf("%-60s", "Step p95(ms)");
+            for (String browser : browsers) {
+                out.printf(" %10s", browser);
+            }
+            out.printf(" %10s%n", "max/min");
+            steps.forEach((name, byBrowser) -> {
+                out.printf("%-60.60s", name);
+                double min = Double.MAX_VALUE;
+                double max = 0;
+                for (String browser : browsers) {
+                    Map<String, Object> row = byBrowser.get(browser);
+                    if (row == null) {
+                        out.printf(" %10s", "-");
+                        continue;
+                    }
+                    double p95 = ((Number) row.get("p95Millis")).doubleValue();
+                    min = Math.min(min, p95);
+                    max = Math.max(max, p95);
+                    out.printf(" %10.1f", p95);
+                }
+                out.printf(" %10s%n", min > 0 && min != Double.MAX_VALUE ? String.format("%.2f", max / min) : "-");
+            });
+        }
+        System.out.println(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    private void writeSummaryJson(Path file, Instant started, List<BrowserResult> results,
+                                  Map<String, Map<String, Object>> timings) throws IOException {
+        List<Map<String, Object>> browserRows = new ArrayList<>();
+        for (BrowserResult result : results) {
+            long[] counts = scenarioCounts(timings.get(result.browser()));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("browser", result.browser());
+            row.put("status", result.status());
+            row.put("scenariosPassed", counts[0]);
+            row.put("scenariosFailed", counts[1]);
+            row.put("wallSeconds", result.elapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+            row.put("reportDirectory", result.directory().toString());
+            browserRows.add(row);
+        }
+
+        List<Map<String, Object>> stepRows = new ArrayList<>();
+        byName(timings, "steps").forEach((name, byBrowser) -> {
+            Map<String, Object> perBrowser = new LinkedHashMap<>();
+            byBrowser.forEach((browser, row) -> {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("count", row.get("count"));
+                values.put("p50Millis", row.get("p50Millis"));
+                values.put("p95Millis", row.get("p95Millis"));
+                values.put("p99Millis", row.get("p99Millis"));
+                perBrowser.put(browser, values);
+            });
+            Map<String, Object> stepRow = new LinkedHashMap<>();
+            stepRow.put("name", name);
+            stepRow.put("key", StepTimingPlugin.toKey(name));
+            stepRow.put("browsers", perBrowser);
+            stepRows.add(stepRow);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("started", started.toString());
+        report.put("threadsPerBrowser", threadsPerBrowser);
+        report.put("unit", "milliseconds");
+        report.put("browsers", browserRows);
+        report.put("steps", stepRows);
+        Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Regroup the rows of every browser's step timings by step name
+     * @return Step name mapped to browser mapped to timing row
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Map<String, Object>>> byName(Map<String, Map<String, Object>> timings,
+                                                                       String section) {
+        Map<String, Map<String, Map<String, Object>>> rows = new TreeMap<>();
+        timings.forEach((browser, report) -> {
+            for (Map<String, Object> row : (List<Map<String, Object>>) report.getOrDefault(section, List.of())) {
+                rows.computeIfAbsent((String) row.get("name"), name -> new LinkedHashMap<>()).put(browser, row);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Count passed and failed scenarios in a browser's step timings
+     * @return Passed and failed counts
+     */
+    @SuppressWarnings("unchecked")
+    private static long[] scenarioCounts(Map<String, Object> report) {
+        long[] counts = new long[2];
+        for (Map<String, Object> row : (List<Map<String, Object>>) report.getOrDefault("scenarios", List.of())) {
+            counts[0] += ((Number) row.get("count")).longValue();
+            counts[1] += ((Number) row.get("failed")).longValue();
+        }
+        return counts;
+    }
+
+    /**
+     * Outcome of the run on one browser
+     */
+    private record BrowserResult(String browser, byte status, long elapsedNanos, Path directory) {
+    }
+}
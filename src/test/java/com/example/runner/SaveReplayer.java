@@ -0,0 +1,291 @@
+package com.example.runner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+import com.example.pages.AddCustomerPage;
+import com.example.stub.StubLmsServer;
+import com.example.utils.ConfigReader;
+import com.example.utils.RandomDataGenerator;
+import com.example.utils.SaveCapture;
+
+/**
+ * Creates customers over HTTP by replaying the requests Save issued in a captured UI run
+ * Every replay gets a freshly generated customer: the text fields of the captured body (JSON or
+ * form-encoded) are replaced, dropdown values are kept. Requests are sent asynchronously on one
+ * HttpClient, so connections are kept alive and reused (multiplexed when the server speaks HTTP/2),
+ * with at most replay.concurrency in flight. Reports throughput, latency percentiles and status counts.
+ * With the stub profile an embedded stub is started and logged into instead of using the captured cookies.
+ * Usage: mvn test-compile exec:java -Dexec.mainClass=com.example.runner.SaveReplayer -Dreplay.requests=5000
+ */
+public class SaveReplayer {
+
+    private static final String REPORT_FILE = "save-replay.json";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    // Set by HttpClient itself, or replaced by the session cookies
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "content-length", "cookie", "expect",
+            "host", "upgrade");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Json json = new Json();
+    private final List<Map<String, Object>> requests;
+    private final String capturedAppUrl;
+    private final String appUrl;
+    private String cookies;
+
+    /**
+     * Create a replayer for a capture
+     * @param capture Capture as written by SaveCapture
+     * @param appUrl Application URL the requests are sent to
+     */
+    @SuppressWarnings("unchecked")
+    public SaveReplayer(Map<String, Object> capture, String appUrl) {
+        this.requests = (List<Map<String, Object>>) capture.get("requests");
+        this.capturedAppUrl = String.valueOf(capture.get("appUrl"));
+        this.appUrl = appUrl;
+        this.cookies = String.valueOf(capture.getOrDefault("cookies", ""));
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Capture contains no requests");
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path captureFile = Paths.get(ConfigReader.getSaveCaptureFile());
+        Map<String, Object> capture = SaveCapture.read(captureFile);
+        int total = ConfigReader.getReplayRequests();
+        int concurrency = ConfigReader.getReplayConcurrency();
+
+        StubLmsServer stub = null;
+        SaveReplayer replayer;
+        if (ConfigReader.isStubProfile()) {
+            // Stub sessions live in memory, so the captured cookies are useless in a new JVM
+            stub = new StubLmsServer(ConfigReader.getStubPort());
+            stub.start();
+            replayer = new SaveReplayer(capture, stub.getBaseUrl());
+            replayer.login();
+        } else {
+            replayer = new SaveReplayer(capture, ConfigReader.getAppUrl());
+        }
+
+        Map<String, Object> result;
+        try {
+            System.out.println("Replaying " + captureFile + ": " + total + " saves, " + concurrency + " in flight");
+            result = replayer.run(total, concurrency);
+            if (stub != null) {
+                result.put("stubCustomers", stub.getCustomerCount());
+            }
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+
+        System.out.printf("%9s %8s %10s %12s %10s %10s %10s %10s  %s%n", "Requests", "Failed", "Wall(s)",
+                "Requests/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "Statuses");
+        System.out.printf("%9d %8d %10.2f %12.1f %10.1f %10.1f %10.1f %10.1f  %s%n", result.get("requests"),
+                result.get("failed"), result.get("wallSeconds"), result.get("requestsPerSecond"),
+                result.get("p50Millis"), result.get("p95Millis"), result.get("p99Millis"), result.get("maxMillis"),
+                result.get("statuses"));
+
+        Path outputDirectory = Paths.get(ConfigReader.getLoadOutputDirectory());
+        Files.createDirectories(outputDirectory);
+        Files.writeString(outputDirectory.resolve(REPORT_FILE), new Json().toJson(result), StandardCharsets.UTF_8);
+        System.out.println("Save replay written to " + outputDirectory.resolve(REPORT_FILE).toAbsolutePath());
+    }
+
+    /**
+     * Replay the captured requests with a new customer each time
+     * @param total Number of replays
+     * @param concurrency Maximum replays in flight
+     * @return Result row with wall time, throughput, latency percentiles and status counts
+     * @throws InterruptedException if interrupted while waiting for replays
+     */
+    public Map<String, Object> run(int total, int concurrency) throws InterruptedException {
+        ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            Map<String, String> values = AddCustomerPage.textFieldValues(RandomDataGenerator.generateCustomerRecord());
+            inFlight.acquire();
+            long replayStart = System.nanoTime();
+            replayOnce(values).whenComplete((status, error) -> {
+                int code = error != null ? 0 : status;
+                statuses.computeIfAbsent(code, c -> new LongAdder()).increment();
+                if (code >= 200 && code < 400) {
+                    latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - replayStart),
+                            HIGHEST_TRACKABLE_MICROS));
+                } else {
+                    if (failed.incrementAndGet() == 1) {
+                        System.err.println("First failed replay: " + (error != null ? error : "status " + code));
+                    }
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long wallNanos = System.nanoTime() - start;
+
+        Histogram h = latencies.copy();
+        double wallSeconds = wallNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((code, count) -> statusCounts.put(String.valueOf(code), count.sum()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", total);
+        result.put("concurrency", concurrency);
+        result.put("failed", failed.get());
+        result.put("wallSeconds", wallSeconds);
+        result.put("requestsPerSecond", (total - failed.get()) / wallSeconds);
+        result.put("p50Millis", h.getValueAtPercentile(50) / 1000.0);
+        result.put("p95Millis", h.getValueAtPercentile(95) / 1000.0);
+        result.put("p99Millis", h.getValueAtPercentile(99) / 1000.0);
+        result.put("maxMillis", h.getMaxValue() / 1000.0);
+        result.put("statuses", statusCounts);
+        return result;
+    }
+
+    /**
+     * Send the captured requests in order for one customer, stopping at the first error status
+     * @return Status of the last request sent
+     */
+    private CompletableFuture<Integer> replayOnce(Map<String, String> values) {
+        CompletableFuture<Integer> chain = CompletableFuture.completedFuture(200);
+        for (Map<String, Object> captured : requests) {
+            chain = chain.thenCompose(status -> status >= 400
+                    ? CompletableFuture.completedFuture(status)
+                    : client.sendAsync(build(captured, values), HttpResponse.BodyHandlers.discarding())
+                            .thenApply(HttpResponse::statusCode));
+        }
+        return chain;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpRequest build(Map<String, Object> captured, Map<String, String> values) {
+        String url = String.valueOf(captured.get("url"));
+        if (url.startsWith(capturedAppUrl)) {
+            url = appUrl + url.substring(capturedAppUrl.length());
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+
+        String contentType = "";
+        Map<String, Object> headers = (Map<String, Object>) captured.getOrDefault("headers", Map.of());
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (name.equals("content-type")) {
+                contentType = String.valueOf(header.getValue()).toLowerCase(Locale.ROOT);
+            }
+            if (!SKIPPED_HEADERS.contains(name)) {
+                builder.header(header.getKey(), String.valueOf(header.getValue()));
+            }
+        }
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", cookies);
+        }
+
+        Object body = captured.get("body");
+        String method = String.valueOf(captured.get("method"));
+        return builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(substitute(body.toString(), contentType, values)))
+                .build();
+    }
+
+    /**
+     * Replace the customer's text fields in a captured body; other fields are sent as captured
+     */
+    @SuppressWarnings("unchecked")
+    private String substitute(String body, String contentType, Map<String, String> values) {
+        if (contentType.contains("json")) {
+            Map<String, Object> fields = json.toType(body, Map.class);
+            fields.replaceAll((name, value) -> values.containsKey(name) ? values.get(name) : value);
+            StringBuilder out = new StringBuilder();
+            json.newOutput(out).setPrettyPrint(false).write(fields);
+            return out.toString();
+        }
+        if (contentType.contains("x-www-form-urlencoded")) {
+            StringBuilder out = new StringBuilder();
+            for (String pair : body.split("&")) {
+                String[] parts = pair.split("=", 2);
+                String name = URLDecoder.decode(parts[0], StandardCharsets.UTF_8);
+                if (out.length() > 0) {
+                    out.append('&');
+                }
+                out.append(parts[0]).append('=').append(values.containsKey(name)
+                        ? URLEncoder.encode(values.get(name), StandardCharsets.UTF_8)
+                        : parts.length > 1 ? parts[1] : "");
+            }
+            return out.toString();
+        }
+        return body;
+    }
+
+    /**
+     * Log in and verify the OTP over HTTP to get a fresh session
+     * @throws IOException if a request fails or the login is rejected
+     * @throws InterruptedException if interrupted while blocked on a request
+     */
+    private void login() throws IOException, InterruptedException {
+        StringBuilder session = new StringBuilder();
+        postForm("Account/Login", session, "email=" + encode(ConfigReader.getLoginEmail()) + "&password="
+                + encode(ConfigReader.getLoginPassword()));
+        postForm("Account/Otp", session, "otp=" + encode(ConfigReader.getOtpCode()));
+        cookies = session.toString();
+    }
+
+    private void postForm(String path, StringBuilder session, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(appUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Cookie", session.toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 302) {
+            throw new IOException(path + " returned " + response.statusCode());
+        }
+        for (String setCookie : response.headers().allValues("Set-Cookie")) {
+            if (session.length() > 0) {
+                session.append("; ");
+            }
+            session.append(setCookie.split(";", 2)[0]);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.runner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.json.Json;
+
+import com.example.utils.RandomDataGenerator;
+import com.sun.net.httpserver.HttpServer;
+
+public class SaveReplayerTest {
+
+    private static final String CAPTURED_APP_URL = "http://lms.example/";
+
+    private final List<String> paths = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        // Only the seeded generator decides the values
+        System.setProperty("id.allocator.enabled", "false");
+        System.setProperty("used.registry.enabled", "false");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            synchronized (bodies) {
+                paths.add(exchange.getRequestURI().getPath());
+                bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        System.clearProperty("id.allocator.enabled");
+        System.clearProperty("used.registry.enabled");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsANewCustomerWithEveryReplay() throws InterruptedException {
+        Map<String, Object> capture = new LinkedHashMap<>();
+        capture.put("appUrl", CAPTURED_APP_URL);
+        capture.put("requests", List.of(
+                request("Customer/Save", "application/json; charset=utf-8",
+                        "{\"CustomerNo\":\"C-1\",\"Name\":\"Captured Name\",\"EmailId\":\"captured@example.com\",\"ZoneId\":\"4\"}"),
+                request("Customer/SaveLocation", "application/x-www-form-urlencoded",
+                        "CustomerNo=C-1&AdhaarNo=111122223333&StateId=9")));
+        SaveReplayer replayer = new SaveReplayer(capture, "http://127.0.0.1:" + server.getAddress().getPort() + "/");
+
+        RandomDataGenerator.seed(42);
+        Map<String, Object> result = replayer.run(3, 1);
+
+        assertEquals(Map.of("200", 3L), result.get("statuses"));
+        assertEquals(List.of("/Customer/Save", "/Customer/SaveLocation", "/Customer/Save", "/Customer/SaveLocation",
+                "/Customer/Save", "/Customer/SaveLocation"), paths);
+        Set<Object> customerNumbers = new HashSet<>();
+        Set<Object> emails = new HashSet<>();
+        Set<String> aadhaarNumbers = new HashSet<>();
+        for (int i = 0; i < bodies.size(); i += 2) {
+            Map<String, Object> saved = new Json().toType(bodies.get(i), Map.class);
+            Map<String, String> location = form(bodies.get(i + 1));
+            assertNotEquals("C-1", saved.get("CustomerNo"));
+            assertNotEquals("captured@example.com", saved.get("EmailId"));
+            assertEquals("4", saved.get("ZoneId"));
+            assertEquals(saved.get("CustomerNo"), location.get("CustomerNo"));
+            assertEquals("9", location.get("StateId"));
+            customerNumbers.add(saved.get("CustomerNo"));
+            emails.add(saved.get("EmailId"));
+            aadhaarNumbers.add(location.get("AdhaarNo"));
+        }
+        assertEquals(3, customerNumbers.size());
+        assertEquals(3, emails.size());
+        assertEquals(3, aadhaarNumbers.size());
+    }
+
+    private static Map<String, Object> request(String path, String contentType, String body) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("url", CAPTURED_APP_URL + path);
+        request.put("method", "POST");
+        request.put("headers", Map.of("Content-Type", contentType));
+        request.put("body", body);
+        return request;
+    }
+
+    private static Map<String, String> form(String body) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String pair : body.split("&")) {
+            String[] parts = pair.split("=", 2);
+            fields.put(parts[0], URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+        }
+        return fields;
+    }
+}
@@ -24,7 +24,9 @@ import static io.cucumber.junit.platform.engine.Constants.SNIPPET_TYPE_PROPERTY_
     "pretty, " +
     "html:test-output/cucumber-reports/cucumber.html, " +
     "json:test-output/cucumber-reports/cucumber.json, " +
-    "junit:test-output/cucumber-reports/cucumber.xml")
+    "junit:test-output/cucumber-reports/cucumber.xml, " +
+    "com.example.plugins.CommandLatencyPlugin:test-output/perf/webdriver-commands.json, " +
+    "com.example.plugins.StepTimingPlugin:test-output/perf")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.example.stepdefinitions")
 @ConfigurationParameter(key = FEATURES_PROPERTY_NAME, value = "src/test/resources/features")
 @ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "not @ignore")
@@ -1,49 +1,83 @@
 package com.example.stepdefinitions;
 
-import java.io.File;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
-import java.time.Duration;
 import java.util.Date;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.WebDriverException;
+
+import com.example.stub.StubLmsServer;
+import com.example.utils.ConfigReader;
+import com.example.utils.DriverManager;
+import com.example.utils.DriverPool;
+import com.example.utils.FlightRecorder;
+import com.example.utils.RandomDataGenerator;
+import com.example.utils.ScreenshotPipeline;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
 /**
  * Hooks class for Cucumber test lifecycle management
- * Handles setup, teardown, and screenshot capture
+ * Handles setup, teardown, screenshot capture and the per-scenario flight recorder
  */
 public class Hooks {
 
-    private static WebDriver driver;
-    private static final String BROWSER = System.getProperty("browser", "chrome").toLowerCase();
-    private static final int IMPLICIT_WAIT = 10;
-    private static final String SCREENSHOT_DIR = "test-output/screenshots/";
+    // Hooks are created per scenario, so this counts the steps of the current scenario
+    private int stepIndex;
+    // Last steps of the current scenario, written only if it fails
+    private final FlightRecorder flightRecorder = ConfigReader.isFlightRecorderEnabled()
+            ? FlightRecorder.fromConfig() : null;
 
     /**
-     * Get WebDriver instance
+     * Get WebDriver instance bound to the current worker thread
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
-        return driver;
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * Runs once before any scenario
+     * Starts the embedded stub LMS server and points app.url at it when the stub profile is active
+     */
+    @BeforeAll
+    public static void startTarget() {
+        if (ConfigReader.isStubProfile()) {
+            System.setProperty("app.url", StubLmsServer.startShared().getBaseUrl());
+        }
+    }
+
+    /**
+     * Runs once before any scenario
+     * Fails the run at once on an invalid data.seed instead of in every scenario's setup
+     */
+    @BeforeAll
+    public static void validateDataSeed() {
+        ConfigReader.getDataSeed();
+    }
+
+    /**
+     * Runs once before any scenario
+     * Says why IDs are drawn at random when the allocator is wanted but this machine has no id.node
+     */
+    @BeforeAll
+    public static void reportIdAllocator() {
+        if (ConfigReader.isIdAllocatorRequested() && !ConfigReader.isIdAllocatorEnabled()) {
+            System.err.println("id.node is not set: customer, Aadhaar and mobile numbers are drawn at random."
+                    + " Give every machine its own id.node (0-63), e.g. -Did.node=3, to allocate them");
+        }
     }
 
     /**
      * Setup method - runs before each scenario
-     * Initializes WebDriver and configures browser
+     * Leases a warm browser from the pool (or starts a new one) for this worker thread
      */
     @Before
     public void setUp(Scenario scenario) {
@@ -51,122 +85,121 @@ public class Hooks {
         System.out.println("Starting Scenario: " + scenario.getName());
         System.out.println("========================================");
 
-        // Initialize WebDriver based on browser property
-        initializeDriver();
-
-        // Configure WebDriver
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-        driver.manage().window().maximize();
+        // Scenario.getId() is a random UUID per run, so the seed is keyed by location instead
+        RandomDataGenerator.seedForScenario(scenarioLocation(scenario));
+
+        // Initialize WebDriver for this worker thread based on browser property
+        String browser = DriverManager.getBrowser();
+        WebDriver driver;
+        if (ConfigReader.isDriverPoolEnabled()) {
+            driver = DriverPool.forBrowser(browser).lease();
+        } else {
+            driver = DriverManager.createDriver(browser);
+            DriverManager.configureDriver(driver);
+        }
+        DriverManager.setDriver(driver);
 
-        System.out.println("Browser initialized: " + BROWSER);
+        System.out.println("Browser initialized: " + browser + " [" + Thread.currentThread().getName() + "]");
     }
 
     /**
-     * Initialize WebDriver based on browser type
+     * Get the location of a scenario that is the same on every run and every checkout
+     * The feature path is cut to start at features/ so absolute checkout paths and the
+     * classpath: or file: scheme do not change it
+     * @param scenario Cucumber scenario
+     * @return Feature path and line, e.g. features/AddCustomer.feature:12
      */
-    private void initializeDriver() {
-        switch (BROWSER) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--start-maximized");
-                chromeOptions.addArguments("--disable-notifications");
-                chromeOptions.addArguments("--disable-popup-blocking");
-                chromeOptions.addArguments("--remote-allow-origins=*");
-                // Uncomment for headless mode
-                // chromeOptions.addArguments("--headless");
-                driver = new ChromeDriver(chromeOptions);
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                firefoxOptions.addArguments("--start-maximized");
-                // Uncomment for headless mode
-                // firefoxOptions.addArguments("--headless");
-                driver = new FirefoxDriver(firefoxOptions);
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                edgeOptions.addArguments("--start-maximized");
-                edgeOptions.addArguments("--disable-notifications");
-                // Uncomment for headless mode
-                // edgeOptions.addArguments("--headless");
-                driver = new EdgeDriver(edgeOptions);
-                break;
-
-            default:
-                System.out.println("Browser not supported. Defaulting to Chrome.");
-                WebDriverManager.chromedriver().setup();
-                driver = new ChromeDriver();
-        }
+    private static String scenarioLocation(Scenario scenario) {
+        String uri = scenario.getUri().toString();
+        int features = uri.indexOf("features/");
+        return (features >= 0 ? uri.substring(features) : uri) + ":" + scenario.getLine();
     }
 
     /**
      * Teardown method - runs after each scenario
-     * Closes browser and cleans up resources
+     * Returns browser to the pool (or closes it) and cleans up resources
      */
     @After
     public void tearDown(Scenario scenario) {
         // Take screenshot if scenario failed
         if (scenario.isFailed()) {
-            captureScreenshot(scenario);
+            captureScreenshot(scenario, "failure");
+            if (flightRecorder != null) {
+                Path recording = flightRecorder.flush(fileName(scenario, "steps"));
+                if (recording != null) {
+                    System.out.println("Flight recorder written: " + recording.toAbsolutePath());
+                }
+            }
         }
 
         System.out.println("========================================");
         System.out.println("Scenario Status: " + scenario.getStatus());
         System.out.println("========================================");
 
-        // Close browser
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        // Release browser owned by this worker thread
+        if (ConfigReader.isDriverPoolEnabled()) {
+            DriverPool.forBrowser(DriverManager.getBrowser()).release(getDriver(), scenario.isFailed());
+            DriverManager.unbindDriver();
+        } else {
+            DriverManager.quitDriver();
         }
     }
 
     /**
-     * Capture screenshot after each step (optional)
-     * Uncomment the @AfterStep annotation to enable
+     * Capture screenshot after each step when screenshot.every.step is enabled,
+     * and keep the step in the flight recorder
      */
-    // @AfterStep
+    @AfterStep
     public void captureScreenshotAfterStep(Scenario scenario) {
-        if (driver != null) {
-            captureScreenshot(scenario);
+        stepIndex++;
+        WebDriver driver = getDriver();
+        if (driver == null) {
+            return;
+        }
+        byte[] screenshot = null;
+        if (ConfigReader.isScreenshotEveryStep()) {
+            screenshot = captureScreenshot(scenario, "step" + stepIndex);
+        }
+        if (flightRecorder != null) {
+            flightRecorder.record(driver, stepIndex, screenshot, scenario.isFailed());
         }
     }
 
     /**
-     * Capture screenshot and attach to report
+     * Capture screenshot once, attach it to the report and queue it for the background writer
      * @param scenario Current scenario
+     * @param label Name of the attachment and suffix of the file name
+     * @return Screenshot bytes, or null if none could be taken
      */
-    private void captureScreenshot(Scenario scenario) {
+    private byte[] captureScreenshot(Scenario scenario, String label) {
+        WebDriver driver = getDriver();
         if (driver != null) {
             try {
                 // Take screenshot as byte array for Cucumber report
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                scenario.attach(screenshot, "image/png", scenario.getName());
+                scenario.attach(screenshot, "image/png", scenario.getName() + " - " + label);
 
-                // Save screenshot to file system
-                File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-                String screenshotName = scenario.getName().replaceAll("[^a-zA-Z0-9]", "_") + "_" + timestamp + ".png";
-                File destinationFile = new File(SCREENSHOT_DIR + screenshotName);
+                // Written to the screenshot directory off the test thread
+                Path destination = ScreenshotPipeline.getInstance().submit(screenshot, fileName(scenario, label));
 
-                // Create directory if it doesn't exist
-                FileUtils.forceMkdir(new File(SCREENSHOT_DIR));
-
-                // Copy screenshot to destination
-                FileUtils.copyFile(screenshotFile, destinationFile);
-
-                System.out.println("Screenshot saved: " + destinationFile.getAbsolutePath());
-            } catch (IOException e) {
+                System.out.println("Screenshot queued: " + destination.toAbsolutePath());
+                return screenshot;
+            } catch (WebDriverException e) {
                 System.err.println("Failed to capture screenshot: " + e.getMessage());
             }
         }
+        return null;
     }
 
-
+    /**
+     * Build a file name that stays unique across parallel workers and browsers
+     * @param scenario Current scenario
+     * @param label Suffix after the scenario name
+     * @return File name without extension
+     */
+    private static String fileName(Scenario scenario, String label) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        return scenario.getName().replaceAll("[^a-zA-Z0-9]", "_") + "_" + label + "_"
+                + timestamp + "_" + DriverManager.getBrowser() + "_" + Thread.currentThread().threadId();
+    }
 }
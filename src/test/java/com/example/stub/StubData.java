@@ -0,0 +1,72 @@
+package com.example.stub;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference data served by the stub LMS dropdown endpoint
+ */
+final class StubData {
+
+    private static final Map<String, List<String>> LISTS = Map.of(
+            "customerType", List.of("Individual", "Proprietorship", "Partnership", "Private Limited"),
+            "industry", List.of("Agriculture", "Manufacturing", "Retail Trade", "Services", "Transport"),
+            "segment", List.of("Micro", "Small", "Medium"),
+            "businessUnit", List.of("Retail Lending", "MSME Lending", "Rural Finance"),
+            "addressType", List.of("Residential", "Office", "Permanent"),
+            "zone", List.of("North", "South", "East", "West"));
+
+    private static final Map<String, List<String>> STATES = Map.of(
+            "North", List.of("Delhi", "Punjab", "Haryana"),
+            "South", List.of("Karnataka", "Tamil Nadu", "Kerala"),
+            "East", List.of("West Bengal", "Odisha", "Bihar"),
+            "West", List.of("Maharashtra", "Gujarat", "Rajasthan"));
+
+    private static final Map<String, List<String>> LOCATIONS = new LinkedHashMap<>();
+
+    static {
+        LOCATIONS.put("Delhi", List.of("New Delhi", "Dwarka", "Rohini"));
+        LOCATIONS.put("Punjab", List.of("Ludhiana", "Amritsar", "Jalandhar"));
+        LOCATIONS.put("Haryana", List.of("Gurugram", "Faridabad", "Panipat"));
+        LOCATIONS.put("Karnataka", List.of("Bengaluru", "Mysuru", "Hubballi"));
+        LOCATIONS.put("Tamil Nadu", List.of("Chennai", "Coimbatore", "Madurai"));
+        LOCATIONS.put("Kerala", List.of("Kochi", "Thiruvananthapuram", "Kozhikode"));
+        LOCATIONS.put("West Bengal", List.of("Kolkata", "Siliguri", "Durgapur"));
+        LOCATIONS.put("Odisha", List.of("Bhubaneswar", "Cuttack", "Rourkela"));
+        LOCATIONS.put("Bihar", List.of("Patna", "Gaya", "Muzaffarpur"));
+        LOCATIONS.put("Maharashtra", List.of("Mumbai", "Pune", "Nagpur"));
+        LOCATIONS.put("Gujarat", List.of("Ahmedabad", "Surat", "Vadodara"));
+        LOCATIONS.put("Rajasthan", List.of("Jaipur", "Jodhpur", "Udaipur"));
+    }
+
+    private StubData() {
+    }
+
+    /**
+     * Get options of a dropdown
+     * Option values equal their text so dependent lists can be looked up by parent value
+     * @param list Dropdown name
+     * @param parent Selected value of the parent dropdown (State: zone, Location: state)
+     * @return Options as value/text maps
+     */
+    static List<Map<String, String>> options(String list, String parent) {
+        List<String> values;
+        switch (list) {
+            case "state":
+                values = STATES.getOrDefault(parent, List.of());
+                break;
+            case "location":
+                values = LOCATIONS.getOrDefault(parent, List.of());
+                break;
+            default:
+                values = LISTS.getOrDefault(list, List.of());
+        }
+        List<Map<String, String>> options = new ArrayList<>();
+        for (String value : values) {
+            options.add(Map.of("value", value, "text", value));
+        }
+        return options;
+    }
+}
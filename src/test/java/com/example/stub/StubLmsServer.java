@@ -0,0 +1,362 @@
+package com.example.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openqa.selenium.json.Json;
+
+import com.example.utils.ConfigReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded stand-in for the LMS login, OTP and customer screens
+ * Serves pages with the same element ids and structure the page objects target,
+ * lazily loaded and cascading Zone/State/Location dropdowns with configurable AJAX delays,
+ * and a JSON save endpoint. Used for offline, reproducible runs (Maven profile "stub").
+ */
+public class StubLmsServer {
+
+    private static final String SESSION_COOKIE = "LMSSESSION";
+    private static final String PENDING_COOKIE = "LMSPENDING";
+    private static final String RESOURCE_DIR = "/stub/";
+
+    private static StubLmsServer shared;
+
+    static {
+        // Small responses would otherwise wait for delayed ACKs; read once when the server classes load
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Json json = new Json();
+    private final Set<String> pendingLogins = ConcurrentHashMap.newKeySet();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Map<String, Object>> customers = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Create a stub server bound to localhost
+     * @param port Port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public StubLmsServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        // Every request parks in a simulated delay, so each one gets its own virtual thread
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stub-lms-", 1).factory());
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    /**
+     * Start the JVM-wide stub server once and return it
+     * @return Shared running server
+     */
+    public static synchronized StubLmsServer startShared() {
+        if (shared == null) {
+            try {
+                shared = new StubLmsServer(ConfigReader.getStubPort());
+                shared.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "stub-lms-shutdown"));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to start stub LMS server", e);
+            }
+        }
+        return shared;
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Stub LMS server listening on " + getBaseUrl());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get base URL of the running server
+     * @return Base URL ending with a slash
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Get number of customers saved so far
+     * @return Customer count
+     */
+    public int getCustomerCount() {
+        return customers.size();
+    }
+
+    /**
+     * Invalidate every session, as if they had timed out on the server
+     */
+    public void expireSessions() {
+        sessions.clear();
+        pendingLogins.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if (path.startsWith(RESOURCE_DIR)) {
+                serveResource(exchange, path.substring(RESOURCE_DIR.length()));
+            } else if (path.equals("/") || path.equals("/Account/Login")) {
+                if ("POST".equals(method)) {
+                    login(exchange);
+                } else {
+                    sendPage(exchange, 200, page("login.html").replace("{{ERROR}}", ""));
+                }
+            } else if (path.equals("/Account/Otp")) {
+                verifyOtp(exchange, method);
+            } else if (path.startsWith("/api/")) {
+                handleApi(exchange, path, method);
+            } else if (!hasSession(exchange)) {
+                redirect(exchange, "/", null);
+            } else if (path.equals("/Home/Dashboard")) {
+                sendPage(exchange, 200, layout("dashboard.html"));
+            } else if (path.equals("/Customer/Index")) {
+                sendPage(exchange, 200, layout("customers.html").replace("{{ROWS}}", customerRows()));
+            } else if (path.equals("/Customer/Create")) {
+                sendPage(exchange, 200, layout("add-customer.html"));
+            } else {
+                send(exchange, 404, "text/plain", "Not found");
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, "text/plain", "Stub error: " + e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, String> form = readForm(exchange);
+        if (ConfigReader.getLoginEmail().equals(form.get("email"))
+                && ConfigReader.getLoginPassword().equals(form.get("password"))) {
+            String token = UUID.randomUUID().toString();
+            pendingLogins.add(token);
+            redirect(exchange, "/Account/Otp", PENDING_COOKIE + "=" + token + "; Path=/; HttpOnly");
+        } else {
+            sendPage(exchange, 200, page("login.html").replace("{{ERROR}}", "Invalid user name or password"));
+        }
+    }
+
+    private void verifyOtp(HttpExchange exchange, String method) throws IOException {
+        String pending = cookie(exchange, PENDING_COOKIE);
+        if (pending == null || !pendingLogins.contains(pending)) {
+            redirect(exchange, "/", null);
+            return;
+        }
+        if (!"POST".equals(method)) {
+            sendPage(exchange, 200, page("otp.html").replace("{{ERROR}}", ""));
+            return;
+        }
+        if (ConfigReader.getOtpCode().equals(readForm(exchange).get("otp"))) {
+            pendingLogins.remove(pending);
+            String session = UUID.randomUUID().toString();
+            sessions.add(session);
+            redirect(exchange, "/Home/Dashboard", SESSION_COOKIE + "=" + session + "; Path=/; HttpOnly");
+        } else {
+            sendPage(exchange, 200, page("otp.html").replace("{{ERROR}}", "Invalid OTP"));
+        }
+    }
+
+    private void handleApi(HttpExchange exchange, String path, String method) throws IOException {
+        if (!hasSession(exchange)) {
+            sendJson(exchange, 401, Map.of("message", "Your session has expired. Please log in again."));
+            return;
+        }
+        Map<String, String> query = parseParams(exchange.getRequestURI().getRawQuery());
+        if (path.equals("/api/options")) {
+            String list = query.getOrDefault("list", "");
+            pause(ConfigReader.getStubAjaxDelayMillis(list));
+            sendJson(exchange, 200, StubData.options(list, query.getOrDefault("parent", "")));
+        } else if (path.equals("/api/customers") && "POST".equals(method)) {
+            pause(ConfigReader.getStubSaveDelayMillis());
+            saveCustomer(exchange);
+        } else if (path.equals("/api/customers")) {
+            sendJson(exchange, 200, Map.of("count", customers.size()));
+        } else {
+            sendJson(exchange, 404, Map.of("message", "Unknown endpoint"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void saveCustomer(HttpExchange exchange) throws IOException {
+        Map<String, Object> body;
+        try {
+            body = json.toType(readBody(exchange), Map.class);
+        } catch (RuntimeException e) {
+            sendJson(exchange, 400, Map.of("message", "Malformed request"));
+            return;
+        }
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String field : List.of("CustomerNo", "Name", "Zone", "State", "Location")) {
+            Object value = body.get(field);
+            if (value == null || value.toString().isBlank()) {
+                errors.put(field, "This field is required");
+            }
+        }
+        String mobile = String.valueOf(body.getOrDefault("MobileNo", ""));
+        if (!mobile.isEmpty() && !mobile.matches("[6-9]\\d{9}")) {
+            errors.put("MobileNo", "Enter a valid 10 digit mobile number");
+        }
+        String aadhaar = String.valueOf(body.getOrDefault("AdhaarNo", ""));
+        if (!aadhaar.isEmpty() && !aadhaar.matches("[2-9]\\d{11}")) {
+            errors.put("AdhaarNo", "Enter a valid 12 digit Aadhaar number");
+        }
+        if (!errors.isEmpty()) {
+            sendJson(exchange, 400, Map.of("message", "Please correct the highlighted fields", "errors", errors));
+            return;
+        }
+
+        String customerNo = body.get("CustomerNo").toString();
+        if (customers.putIfAbsent(customerNo, body) != null) {
+            sendJson(exchange, 409, Map.of("message", "Customer number already exists",
+                    "errors", Map.of("CustomerNo", "Customer number already exists")));
+            return;
+        }
+        sendJson(exchange, 200, Map.of("message", "Customer created successfully", "customerNo", customerNo));
+    }
+
+    private String customerRows() {
+        StringBuilder rows = new StringBuilder();
+        for (Map<String, Object> customer : new ArrayList<>(customers.values())) {
+            rows.append("<tr><td>").append(escape(customer.get("CustomerNo")))
+                    .append("</td><td>").append(escape(customer.get("Name")))
+                    .append("</td><td>").append(escape(customer.get("MobileNo")))
+                    .append("</td></tr>");
+        }
+        return rows.toString();
+    }
+
+    private boolean hasSession(HttpExchange exchange) {
+        String session = cookie(exchange, SESSION_COOKIE);
+        return session != null && sessions.contains(session);
+    }
+
+    private static String cookie(HttpExchange exchange, String name) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String pair : header.split(";")) {
+                String[] parts = pair.trim().split("=", 2);
+                if (parts.length == 2 && parts[0].equals(name)) {
+                    return parts[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    private String layout(String name) {
+        return page(name).replace("{{SIDEBAR}}", page("sidebar.html"));
+    }
+
+    private String page(String name) {
+        return templates.computeIfAbsent(name, n -> new String(readResource(n), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readResource(String name) {
+        try (InputStream in = StubLmsServer.class.getResourceAsStream(RESOURCE_DIR + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing stub resource " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read stub resource " + name, e);
+        }
+    }
+
+    private void serveResource(HttpExchange exchange, String name) throws IOException {
+        if (!name.matches("[a-z-]+\\.(js|css)")) {
+            send(exchange, 404, "text/plain", "Not found");
+            return;
+        }
+        String type = name.endsWith(".js") ? "application/javascript" : "text/css";
+        send(exchange, 200, type, page(name));
+    }
+
+    private static void redirect(HttpExchange exchange, String location, String setCookie) throws IOException {
+        if (setCookie != null) {
+            exchange.getResponseHeaders().add("Set-Cookie", setCookie);
+        }
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void sendPage(HttpExchange exchange, int status, String html) throws IOException {
+        send(exchange, status, "text/html", html);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json", json.toJson(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType + "; charset=utf-8");
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        return parseParams(readBody(exchange));
+    }
+
+    private static Map<String, String> parseParams(String encoded) {
+        Map<String, String> params = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return params;
+        }
+        for (String pair : encoded.split("&")) {
+            String[] parts = pair.split("=", 2);
+            params.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * WebDriver listener that records the latency of every WebDriver command
+ * Each sample is tagged with the browser, the calling page-object method and the running Cucumber step
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final String PAGES_PACKAGE = "com.example.pages";
+    private static final String PROJECT_PACKAGE = "com.example.";
+    private static final String UTILS_PACKAGE = "com.example.utils";
+
+    private static final Map<CommandKey, Histogram> STATS = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> PUBLIC_METHODS = new ConcurrentHashMap<>();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    /**
+     * Record elapsed time of the command that just finished
+     * @param method Invoked WebDriver method
+     */
+    private void record(Method method) {
+        Deque<Long> stack = startTimes.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - stack.pop());
+        CommandKey key = new CommandKey(DriverManager.getBrowser(),
+                method.getDeclaringClass().getSimpleName() + "." + method.getName(), findCaller(),
+                StepContext.getCurrentStep());
+        STATS.computeIfAbsent(key, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Find the page-object method that issued the command
+     * The innermost public page-object method wins, so private helpers are attributed
+     * to the public method that called them (e.g. AddCustomerPage.selectZone)
+     * @return Caller as SimpleClassName.method
+     */
+    static String findCaller() {
+        return WALKER.walk(frames -> {
+            String innermostPage = null;
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (className.startsWith(PAGES_PACKAGE)) {
+                    String caller = frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName();
+                    if (innermostPage == null) {
+                        innermostPage = caller;
+                    }
+                    if (isPublic(frame)) {
+                        return caller;
+                    }
+                } else if (fallback == null && className.startsWith(PROJECT_PACKAGE)
+                        && !className.startsWith(UTILS_PACKAGE)) {
+                    fallback = frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName();
+                }
+            }
+            if (innermostPage != null) {
+                return innermostPage;
+            }
+            return fallback != null ? fallback : "(unattributed)";
+        });
+    }
+
+    private static boolean isPublic(StackWalker.StackFrame frame) {
+        String key = frame.getClassName() + "#" + frame.getMethodName() + frame.getDescriptor();
+        return PUBLIC_METHODS.computeIfAbsent(key, k -> {
+            try {
+                Method method = frame.getDeclaringClass()
+                        .getDeclaredMethod(frame.getMethodName(), frame.getMethodType().parameterArray());
+                return Modifier.isPublic(method.getModifiers());
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Write per-command, per-step and per-caller histograms of one browser as JSON
+     * @param outputFile Destination file
+     * @param browser Browser whose samples are written
+     */
+    public static void writeReport(Path outputFile, String browser) {
+        Map<CommandKey, Histogram> stats = new LinkedHashMap<>();
+        STATS.forEach((key, histogram) -> {
+            if (key.browser().equals(browser)) {
+                stats.put(key, histogram);
+            }
+        });
+        if (stats.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("browser", browser);
+        report.put("unit", "milliseconds");
+        report.put("commands", commandRows(stats));
+        report.put("byStep", summarize(stats, CommandKey::step));
+        report.put("byCaller", summarize(stats, CommandKey::caller));
+        report.put("byCommand", summarize(stats, CommandKey::command));
+
+        try {
+            Files.createDirectories(outputFile.getParent());
+            Files.writeString(outputFile, new Json().toJson(report), StandardCharsets.UTF_8);
+            System.out.println("WebDriver command latencies written to " + outputFile.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write command latency report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reset all recorded samples
+     */
+    public static void reset() {
+        STATS.clear();
+    }
+
+    private static List<Map<String, Object>> summarize(Map<CommandKey, Histogram> stats,
+                                                       Function<CommandKey, String> grouping) {
+        Map<String, Histogram> groups = new LinkedHashMap<>();
+        stats.forEach((key, histogram) -> {
+            String group = grouping.apply(key);
+            groups.computeIfAbsent(group, g -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3)).add(histogram);
+        });
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        groups.forEach((group, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", group);
+            rows.add(withPercentiles(row, histogram));
+        });
+        return sortByTotal(rows);
+    }
+
+    private static List<Map<String, Object>> commandRows(Map<CommandKey, Histogram> stats) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        stats.forEach((key, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("command", key.command);
+            row.put("caller", key.caller);
+            row.put("step", key.step);
+            rows.add(withPercentiles(row, histogram.copy()));
+        });
+        return sortByTotal(rows);
+    }
+
+    private static Map<String, Object> withPercentiles(Map<String, Object> row, Histogram histogram) {
+        row.put("count", histogram.getTotalCount());
+        row.put("totalMillis", millis(Math.round(histogram.getMean() * histogram.getTotalCount())));
+        row.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+        row.put("p95Millis", millis(histogram.getValueAtPercentile(95)));
+        row.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+        row.put("maxMillis", millis(histogram.getMaxValue()));
+        return row;
+    }
+
+    private static List<Map<String, Object>> sortByTotal(List<Map<String, Object>> rows) {
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMillis")).reversed());
+        return rows;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Browser, command name, calling page-object method and Cucumber step of a sample
+     */
+    private record CommandKey(String browser, String command, String caller, String step) {
+    }
+}
@@ -41,7 +41,7 @@ public class ConfigReader {
         properties.setProperty("login.password", "Legal@1234");
         properties.setProperty("otp.code", "123456");
         properties.setProperty("browser", "chrome");
-        properties.setProperty("implicit.wait", "10");
+        properties.setProperty("implicit.wait", "0");
         properties.setProperty("explicit.wait", "20");
         properties.setProperty("page.load.timeout", "30");
         properties.setProperty("headless.mode", "false");
@@ -49,11 +49,12 @@ public class ConfigReader {
 
     /**
      * Get property value by key
+     * System properties take precedence so values can be overridden from the Maven command line
      * @param key Property key
      * @return Property value
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if (value == null) {
             System.err.println("Property not found: " + key);
         }
@@ -67,7 +68,7 @@ public class ConfigReader {
      * @return Property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
 
     /**
@@ -78,6 +79,56 @@ public class ConfigReader {
         return getProperty("app.url", "https://qalmsbu.cubictree.com/");
     }
 
+    /**
+     * Map an application URL used in a feature file onto the active target
+     * When app.url is overridden (for example by the stub profile), URLs of the configured
+     * application are rewritten to the override so feature files stay unchanged
+     * @param url URL from a feature file
+     * @return URL to open
+     */
+    public static String resolveAppUrl(String url) {
+        String configuredUrl = properties.getProperty("app.url", "https://qalmsbu.cubictree.com/");
+        String activeUrl = getAppUrl();
+        if (!configuredUrl.equals(activeUrl) && url.startsWith(configuredUrl)) {
+            return activeUrl + url.substring(configuredUrl.length());
+        }
+        return url;
+    }
+
+    /**
+     * Check if the suite runs against the embedded stub LMS server
+     * @return true if app.profile is stub
+     */
+    public static boolean isStubProfile() {
+        return "stub".equalsIgnoreCase(getProperty("app.profile", "live"));
+    }
+
+    /**
+     * Get port of the embedded stub LMS server
+     * @return Port, 0 for any free port
+     */
+    public static int getStubPort() {
+        return Integer.parseInt(getProperty("stub.port", "0"));
+    }
+
+    /**
+     * Get simulated AJAX delay of a stub dropdown
+     * Falls back to stub.ajax.delay.ms when the dropdown has no own delay
+     * @param list Dropdown name (zone, state, location, ...)
+     * @return Delay in milliseconds
+     */
+    public static long getStubAjaxDelayMillis(String list) {
+        return Long.parseLong(getProperty("stub.ajax.delay.ms." + list, getProperty("stub.ajax.delay.ms", "300")));
+    }
+
+    /**
+     * Get simulated delay of the stub save endpoint
+     * @return Delay in milliseconds
+     */
+    public static long getStubSaveDelayMillis() {
+        return Long.parseLong(getProperty("stub.save.delay.ms", "200"));
+    }
+
     /**
      * Get login email
      * @return Login email
@@ -112,10 +163,11 @@ public class ConfigReader {
 
     /**
      * Get implicit wait timeout
+     * Zero by default: every wait is explicit, so a missing element fails after its own budget
      * @return Implicit wait in seconds
      */
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return Integer.parseInt(getProperty("implicit.wait", "0"));
     }
 
     /**
@@ -134,6 +186,118 @@ public class ConfigReader {
         return Integer.parseInt(getProperty("page.load.timeout", "30"));
     }
 
+    /**
+     * Check if explicit wait timeouts are learned from recorded latencies
+     * @return true if wait budgets are used
+     */
+    public static boolean isWaitBudgetEnabled() {
+        return Boolean.parseBoolean(getProperty("wait.budget.enabled", "true"));
+    }
+
+    /**
+     * Check if this run's wait latencies are written back to the budget file
+     * @return true if the budget file is updated at the end of the run
+     */
+    public static boolean isWaitBudgetLearn() {
+        return Boolean.parseBoolean(getProperty("wait.budget.learn", "true"));
+    }
+
+    /**
+     * Get file the recorded wait latencies are persisted in between runs
+     * @return Wait budget file path
+     */
+    public static String getWaitBudgetFile() {
+        return getProperty("wait.budget.file", "test-output/perf/wait-budgets.json");
+    }
+
+    /**
+     * Get factor applied to the p99 wait latency to get its timeout
+     * @return Safety factor
+     */
+    public static double getWaitBudgetSafetyFactor() {
+        return Double.parseDouble(getProperty("wait.budget.safety.factor", "3.0"));
+    }
+
+    /**
+     * Get number of samples a wait needs before its timeout is learned
+     * @return Minimum sample count
+     */
+    public static long getWaitBudgetMinSamples() {
+        return Long.parseLong(getProperty("wait.budget.min.samples", "20"));
+    }
+
+    /**
+     * Get lower bound of a learned wait timeout
+     * @return Minimum timeout in milliseconds
+     */
+    public static long getWaitBudgetMinTimeoutMillis() {
+        return Long.parseLong(getProperty("wait.budget.min.timeout.millis", "2000"));
+    }
+
+    /**
+     * Get upper bound of a learned wait timeout; explicit.wait is never exceeded
+     * @return Maximum timeout in milliseconds
+     */
+    public static long getWaitBudgetMaxTimeoutMillis() {
+        return Long.parseLong(getProperty("wait.budget.max.timeout.millis", "20000"));
+    }
+
+    /**
+     * Get how WaitHelper spaces the checks of a wait condition
+     * @return fixed, backoff or jitter
+     */
+    public static String getWaitPollingStrategy() {
+        return getProperty("wait.polling.strategy", "backoff");
+    }
+
+    /**
+     * Get pause after the first check of a backoff or jitter polled wait
+     * @return Initial polling interval in milliseconds
+     */
+    public static long getWaitPollingInitialMillis() {
+        return Long.parseLong(getProperty("wait.polling.initial.millis", "10"));
+    }
+
+    /**
+     * Get factor the pause grows by after every check of a backoff or jitter polled wait
+     * @return Backoff multiplier
+     */
+    public static double getWaitPollingMultiplier() {
+        return Double.parseDouble(getProperty("wait.polling.multiplier", "2.0"));
+    }
+
+    /**
+     * Get fraction by which jitter polling randomizes each pause
+     * @return Jitter between 0 and 1
+     */
+    public static double getWaitPollingJitter() {
+        return Double.parseDouble(getProperty("wait.polling.jitter", "0.5"));
+    }
+
+    /**
+     * Get file the per-run wait and polling statistics are written to
+     * @return Wait report file path
+     */
+    public static String getWaitReportFile() {
+        return getProperty("wait.report.file", "test-output/perf/wait-report.json");
+    }
+
+    /**
+     * Get lower bound of a learned polling interval
+     * @return Minimum polling interval in milliseconds
+     */
+    public static long getWaitBudgetMinPollMillis() {
+        return Long.parseLong(getProperty("wait.budget.min.poll.millis", "50"));
+    }
+
+    /**
+     * Get upper bound of a learned polling interval, also used before a wait is learned
+     * @return Maximum polling interval in milliseconds
+     */
+    public static long getWaitBudgetMaxPollMillis() {
+        return Long.parseLong(getProperty("wait.budget.max.poll.millis", "500"));
+    }
+
     /**
      * Check if headless mode is enabled
      * @return true if headless mode is enabled
@@ -150,6 +314,497 @@ public class ConfigReader {
         return getProperty("screenshot.directory", "test-output/screenshots/");
     }
 
+    /**
+     * Check if a screenshot is taken after every step, not only when a scenario fails
+     * @return true if every step is captured
+     */
+    public static boolean isScreenshotEveryStep() {
+        return Boolean.parseBoolean(getProperty("screenshot.every.step", "false"));
+    }
+
+    /**
+     * Get image format screenshots are written in
+     * @return png, jpeg, or any other format an ImageIO writer is installed for
+     */
+    public static String getScreenshotFormat() {
+        return getProperty("screenshot.format", "png");
+    }
+
+    /**
+     * Get factor screenshots are scaled by before they are written
+     * @return Scale between 0 and 1, 1 to keep the captured size
+     */
+    public static double getScreenshotScale() {
+        return Double.parseDouble(getProperty("screenshot.scale", "1.0"));
+    }
+
+    /**
+     * Get JPEG compression quality of written screenshots
+     * @return Quality between 0 and 1
+     */
+    public static float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshot.jpeg.quality", "0.8"));
+    }
+
+    /**
+     * Get number of screenshots that may wait for the background writer
+     * @return Queue size
+     */
+    public static int getScreenshotQueueSize() {
+        return Integer.parseInt(getProperty("screenshot.queue.size", "64"));
+    }
+
+    /**
+     * Get number of background threads writing screenshots
+     * @return Writer thread count
+     */
+    public static int getScreenshotWriterThreads() {
+        return Integer.parseInt(getProperty("screenshot.writer.threads", "2"));
+    }
+
+    /**
+     * Check if the last steps of every scenario are kept in memory and written when it fails
+     * @return true if the flight recorder is enabled
+     */
+    public static boolean isFlightRecorderEnabled() {
+        return Boolean.parseBoolean(getProperty("flight.recorder.enabled", "true"));
+    }
+
+    /**
+     * Get number of most recent steps the flight recorder keeps
+     * @return Step count
+     */
+    public static int getFlightRecorderSteps() {
+        return Integer.parseInt(getProperty("flight.recorder.steps", "5"));
+    }
+
+    /**
+     * Check if the flight recorder keeps a screenshot of every recorded step
+     * @return true if screenshots are recorded
+     */
+    public static boolean isFlightRecorderScreenshots() {
+        return Boolean.parseBoolean(getProperty("flight.recorder.screenshots", "false"));
+    }
+
+    /**
+     * Get maximum length of the form DOM recorded per step
+     * @return Maximum number of characters
+     */
+    public static int getFlightRecorderDomMaxChars() {
+        return Integer.parseInt(getProperty("flight.recorder.dom.max.chars", "20000"));
+    }
+
+    /**
+     * Get directory failed scenarios' flight recordings are written to
+     * @return Flight recorder directory path
+     */
+    public static String getFlightRecorderDirectory() {
+        return getProperty("flight.recorder.directory", "test-output/flight-recorder");
+    }
+
+    /**
+     * Check if page checks read a local DOM mirror instead of querying each element
+     * @return true if the DOM mirror is used
+     */
+    public static boolean isDomMirrorEnabled() {
+        return Boolean.parseBoolean(getProperty("dom.mirror.enabled", "true"));
+    }
+
+    /**
+     * Check if the one-step customer details fill runs as one dependency-aware pass
+     * @return true if the form fill scheduler is used
+     */
+    public static boolean isFormFillSchedulerEnabled() {
+        return Boolean.parseBoolean(getProperty("form.fill.scheduler.enabled", "true"));
+    }
+
+    /**
+     * Check if dropdown options are read and selected by one script instead of Selenium's Select
+     * @return true if the dropdown engine is used
+     */
+    public static boolean isDropdownEngineEnabled() {
+        return Boolean.parseBoolean(getProperty("dropdown.engine.enabled", "true"));
+    }
+
+    /**
+     * Get file the dependent dropdown repopulation times are written to
+     * @return Dropdown report file path
+     */
+    public static String getDropdownReportFile() {
+        return getProperty("dropdown.report.file", "test-output/perf/dropdown-report.json");
+    }
+
+    /**
+     * Get CSS selector of the elements that signal an outcome of Save
+     * @param outcome success, session.expired, duplicate or validation
+     * @return CSS selector
+     */
+    public static String getSaveOutcomeSelector(String outcome) {
+        String fallback = switch (outcome) {
+            case "success" -> ".toast-success, .alert-success";
+            case "validation" -> ".field-validation-error, .validation-summary-errors, .toast-error, .alert-danger";
+            default -> ".toast-error, .alert-danger, .field-validation-error";
+        };
+        return getProperty("save.outcome." + outcome + ".selector", fallback);
+    }
+
+    /**
+     * Get case-insensitive pattern the text of a Save outcome element must match
+     * @param outcome success, session.expired, duplicate or validation
+     * @return Regular expression, empty to accept any text
+     */
+    public static String getSaveOutcomeText(String outcome) {
+        String fallback = switch (outcome) {
+            case "session.expired" -> "session (has )?expired|log in again";
+            case "duplicate" -> "already exists|duplicate";
+            default -> "";
+        };
+        return getProperty("save.outcome." + outcome + ".text", fallback);
+    }
+
+    /**
+     * Check if the warm browser pool is enabled
+     * @return true if browsers are reused across scenarios
+     */
+    public static boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "true"));
+    }
+
+    /**
+     * Get number of scenarios a pooled browser serves before it is recycled
+     * @return Maximum uses per pooled browser
+     */
+    public static int getDriverPoolMaxUses() {
+        return Integer.parseInt(getProperty("driver.pool.max.uses", "20"));
+    }
+
+    /**
+     * Check if authenticated sessions are cached and restored between scenarios
+     * @return true if session caching is enabled
+     */
+    public static boolean isSessionCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("session.cache.enabled", "true"));
+    }
+
+    /**
+     * Get maximum age of a cached session before a fresh login is forced
+     * @return Session cache TTL in minutes
+     */
+    public static int getSessionCacheTtlMinutes() {
+        return Integer.parseInt(getProperty("session.cache.ttl.minutes", "30"));
+    }
+
+    /**
+     * Check if form sections are filled with one browser script instead of keystrokes
+     * @return true if form.fill.mode is batch
+     */
+    public static boolean isBatchFormFill() {
+        return "batch".equalsIgnoreCase(getProperty("form.fill.mode", "batch"));
+    }
+
+    /**
+     * Check if WebDriver command latencies are recorded
+     * @return true if drivers are wrapped with the latency listener
+     */
+    public static boolean isInstrumentationEnabled() {
+        return Boolean.parseBoolean(getProperty("instrumentation.enabled", "true"));
+    }
+
+    /**
+     * Check if the step timing regression gate runs at the end of the suite
+     * @return true if the performance gate is enabled
+     */
+    public static boolean isPerfGateEnabled() {
+        return Boolean.parseBoolean(getProperty("perf.gate.enabled", "false"));
+    }
+
+    /**
+     * Check if the current run should replace the performance baseline instead of being gated
+     * @return true if the baseline is updated
+     */
+    public static boolean isPerfGateUpdateBaseline() {
+        return Boolean.parseBoolean(getProperty("perf.gate.update.baseline", "false"));
+    }
+
+    /**
+     * Get performance baseline file
+     * @return Path of the committed step timing baseline
+     */
+    public static String getPerfGateBaselineFile() {
+        return getProperty("perf.gate.baseline.file", "src/test/resources/perf/step-timings-baseline.json");
+    }
+
+    /**
+     * Get percentile compared by the performance gate
+     * @return Metric name (p50, p95 or p99)
+     */
+    public static String getPerfGateMetric() {
+        return getProperty("perf.gate.metric", "p95");
+    }
+
+    /**
+     * Get allowed slowdown for a step
+     * Falls back to perf.gate.default.tolerance.percent when the step has no own threshold
+     * @param stepKey Step key as written in step-timings.json
+     * @return Allowed increase in percent
+     */
+    public static double getPerfGateTolerancePercent(String stepKey) {
+        return Double.parseDouble(getProperty("perf.gate.tolerance." + stepKey,
+                getProperty("perf.gate.default.tolerance.percent", "15")));
+    }
+
+    /**
+     * Get minimum absolute slowdown before a step can breach the gate
+     * @return Minimum delta in milliseconds
+     */
+    public static double getPerfGateMinDeltaMillis() {
+        return Double.parseDouble(getProperty("perf.gate.min.delta.millis", "50"));
+    }
+
+    /**
+     * Get base seed for reproducible test data
+     * @return Seed, or null when every run gets fresh data
+     * @throws IllegalArgumentException if data.seed is set but not a whole number
+     */
+    public static Long getDataSeed() {
+        String seed = getProperty("data.seed", "").trim();
+        if (seed.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(seed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("data.seed must be a whole number (e.g. 42), got: " + seed, e);
+        }
+    }
+
+    /**
+     * Check if Add Customer values are read from a data file instead of generated
+     * @return true if data.source is feed
+     */
+    public static boolean isDataFeedEnabled() {
+        return "feed".equalsIgnoreCase(getProperty("data.source", "random"));
+    }
+
+    /**
+     * Get CSV or JSONL file of customer records used in feed mode
+     * @return File path
+     */
+    public static String getDataFeedFile() {
+        return getProperty("data.feed.file", "src/test/resources/data/customers.csv");
+    }
+
+    /**
+     * Get number of parsed customer records buffered ahead of the workers
+     * @return Queue size
+     */
+    public static int getDataFeedQueueSize() {
+        return Integer.parseInt(getProperty("data.feed.queue.size", "256"));
+    }
+
+    /**
+     * Check if customer, Aadhaar and mobile numbers come from the unique ID allocator
+     * Only with an id.node, or against the stub; otherwise IDs are drawn at random and the used
+     * value registry keeps them from repeating
+     * @return true if IDs are allocated instead of drawn at random
+     */
+    public static boolean isIdAllocatorEnabled() {
+        return isIdAllocatorRequested() && (!getIdNode().isEmpty() || isStubProfile());
+    }
+
+    /**
+     * Check if id.allocator.enabled is set, whether or not an id.node makes the allocator usable
+     * @return true if the ID allocator is wanted
+     */
+    public static boolean isIdAllocatorRequested() {
+        return Boolean.parseBoolean(getProperty("id.allocator.enabled", "true"));
+    }
+
+    /**
+     * Get node id of this machine for the ID allocator
+     * @return Node id between 0 and 63, empty when unset (the allocator then stays off, except against the stub)
+     */
+    public static String getIdNode() {
+        return getProperty("id.node", "").trim();
+    }
+
+    /**
+     * Get directory holding ID allocator slot locks and high-water marks
+     * @return Directory path
+     */
+    public static String getIdStateDirectory() {
+        return getProperty("id.state.directory", System.getProperty("user.home") + "/.lms-tests/id-allocator");
+    }
+
+    /**
+     * Check if generated values are checked against the registry of values used in earlier runs
+     * Always off for the stub, which starts empty on every run
+     * @return true if the used value registry is consulted
+     */
+    public static boolean isUsedRegistryEnabled() {
+        return Boolean.parseBoolean(getProperty("used.registry.enabled", "true")) && !isStubProfile();
+    }
+
+    /**
+     * Get directory of the used value registry files
+     * @return Directory path
+     */
+    public static String getUsedRegistryDirectory() {
+        return getProperty("used.registry.directory", System.getProperty("user.home") + "/.lms-tests");
+    }
+
+    /**
+     * Get slot count of a new used value registry
+     * @return Capacity, rounded up to a power of two
+     */
+    public static int getUsedRegistryCapacity() {
+        return Integer.parseInt(getProperty("used.registry.capacity", "4194304"));
+    }
+
+    /**
+     * Get number of concurrent virtual users in load mode
+     * @return Virtual user count
+     */
+    public static int getLoadUsers() {
+        return Integer.parseInt(getProperty("load.users", "5"));
+    }
+
+    /**
+     * Get time over which load mode starts its virtual users
+     * @return Ramp-up in seconds
+     */
+    public static int getLoadRampUpSeconds() {
+        return Integer.parseInt(getProperty("load.rampup.seconds", "30"));
+    }
+
+    /**
+     * Get how long load mode keeps starting new iterations
+     * @return Duration in seconds
+     */
+    public static int getLoadDurationSeconds() {
+        return Integer.parseInt(getProperty("load.duration.seconds", "300"));
+    }
+
+    /**
+     * Get total number of iterations in load mode
+     * @return Iteration count across all virtual users, 0 to run for the configured duration
+     */
+    public static int getLoadIterations() {
+        return Integer.parseInt(getProperty("load.iterations", "0"));
+    }
+
+    /**
+     * Get thread type the virtual users run on
+     * @return virtual or platform
+     */
+    public static String getLoadExecutor() {
+        return getProperty("load.executor", "virtual");
+    }
+
+    /**
+     * Get number of concurrent session flows in the executor benchmark
+     * @return Session count
+     */
+    public static int getBenchmarkSessions() {
+        return Integer.parseInt(getProperty("benchmark.sessions", "200"));
+    }
+
+    /**
+     * Get size of the platform thread pool the executor benchmark compares against
+     * @return Platform thread count
+     */
+    public static int getBenchmarkPlatformThreads() {
+        return Integer.parseInt(getProperty("benchmark.platform.threads", "32"));
+    }
+
+    /**
+     * Get feature driven by every virtual user
+     * @return Feature path or classpath URI
+     */
+    public static String getLoadFeature() {
+        return getProperty("load.feature", "classpath:features/AddCustomer.feature");
+    }
+
+    /**
+     * Get load mode report directory
+     * @return Output directory path
+     */
+    public static String getLoadOutputDirectory() {
+        return getProperty("load.output.directory", "test-output/load");
+    }
+
+    /**
+     * Get browsers of a matrix run
+     * @return Comma separated browser names
+     */
+    public static String getMatrixBrowsers() {
+        return getProperty("matrix.browsers", "chrome,firefox,edge");
+    }
+
+    /**
+     * Get number of scenarios run in parallel on each browser of a matrix run
+     * @return Worker threads per browser
+     */
+    public static int getMatrixThreadsPerBrowser() {
+        return Integer.parseInt(getProperty("matrix.threads.per.browser", "2"));
+    }
+
+    /**
+     * Get features run on every browser of a matrix run
+     * @return Feature path or classpath URI
+     */
+    public static String getMatrixFeatures() {
+        return getProperty("matrix.features", "classpath:features");
+    }
+
+    /**
+     * Get tag expression selecting the scenarios of a matrix run
+     * @return Cucumber tag expression
+     */
+    public static String getMatrixTags() {
+        return getProperty("matrix.tags", "not @ignore");
+    }
+
+    /**
+     * Get matrix report directory, holding one sub-directory per browser
+     * @return Output directory path
+     */
+    public static String getMatrixOutputDirectory() {
+        return getProperty("matrix.output.directory", "test-output/matrix");
+    }
+
+    /**
+     * Check if the requests issued by Save are recorded for replay
+     * @return true if Save requests are captured
+     */
+    public static boolean isSaveCaptureEnabled() {
+        return Boolean.parseBoolean(getProperty("replay.capture.enabled", "false"));
+    }
+
+    /**
+     * Get file the captured Save requests are written to and replayed from
+     * @return File path
+     */
+    public static String getSaveCaptureFile() {
+        return getProperty("replay.capture.file", "test-output/replay/save-capture.json");
+    }
+
+    /**
+     * Get number of Save requests the replayer issues
+     * @return Request count
+     */
+    public static int getReplayRequests() {
+        return Integer.parseInt(getProperty("replay.requests", "1000"));
+    }
+
+    /**
+     * Get maximum number of Save requests in flight during replay
+     * @return Concurrency limit
+     */
+    public static int getReplayConcurrency() {
+        return Integer.parseInt(getProperty("replay.concurrency", "64"));
+    }
+
     /**
      * Get report directory
      * @return Report directory path
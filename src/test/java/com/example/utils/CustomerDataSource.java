@@ -0,0 +1,39 @@
+package com.example.utils;
+
+/**
+ * Supplies the customer each Add Customer scenario enters
+ * With data.source=feed the customer comes from the shared {@link CustomerFeed}, completed with
+ * generated values for fields the file leaves empty; otherwise it is generated.
+ * A runner may hand a record to the thread that will run the scenario (see {@link #assign}).
+ */
+public class CustomerDataSource {
+
+    private static final ThreadLocal<CustomerRecord> ASSIGNED = new ThreadLocal<>();
+
+    /**
+     * Hand a record to the next scenario started on this thread
+     * @param record Customer to enter
+     */
+    public static void assign(CustomerRecord record) {
+        ASSIGNED.set(record);
+    }
+
+    /**
+     * Get the customer for a new scenario
+     * @return Record with every text field set; null dropdowns are selected at random
+     */
+    public static CustomerRecord next() {
+        CustomerRecord record = ASSIGNED.get();
+        ASSIGNED.remove();
+        if (record == null && ConfigReader.isDataFeedEnabled()) {
+            record = CustomerFeed.getInstance().next();
+            if (record == null) {
+                throw new IllegalStateException("Customer data feed exhausted: " + ConfigReader.getDataFeedFile());
+            }
+        }
+        if (record == null) {
+            return RandomDataGenerator.generateCustomerRecord();
+        }
+        return RandomDataGenerator.completeCustomerRecord(record);
+    }
+}
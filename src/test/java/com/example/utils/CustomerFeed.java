@@ -0,0 +1,215 @@
+package com.example.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * Streams customer records from a CSV or JSONL file to parallel workers
+ * A reader thread parses the file line by line into a bounded queue; when workers fall behind
+ * the reader blocks, so memory stays flat however large the file is.
+ * CSV needs a header row naming the {@link CustomerRecord} fields; JSONL has one object per line.
+ * Files ending in .jsonl or .ndjson are read as JSONL, everything else as CSV.
+ */
+public class CustomerFeed {
+
+    // Marks the end of the file in the queue
+    private static final CustomerRecord END = new CustomerRecord(null, null, null, null, null, null, null, null,
+            null, null);
+
+    private static CustomerFeed instance;
+
+    private final Path file;
+    private final BlockingQueue<CustomerRecord> queue;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean exhausted;
+
+    /**
+     * Start streaming a file
+     * @param file CSV or JSONL file
+     * @param queueSize Number of parsed records buffered ahead of the workers
+     */
+    public CustomerFeed(Path file, int queueSize) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        Thread reader = new Thread(this::read, "customer-feed-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Get the feed of the configured data file, starting it on first use
+     * @return Shared CustomerFeed
+     */
+    public static synchronized CustomerFeed getInstance() {
+        if (instance == null) {
+            instance = new CustomerFeed(Paths.get(ConfigReader.getDataFeedFile()), ConfigReader.getDataFeedQueueSize());
+        }
+        return instance;
+    }
+
+    /**
+     * Take the next record, waiting while the reader is behind
+     * @return Next record, or null when the file is exhausted
+     */
+    public CustomerRecord next() {
+        if (exhausted) {
+            return null;
+        }
+        try {
+            CustomerRecord record = queue.take();
+            if (record == END) {
+                exhausted = true;
+                // Leave the marker for workers still waiting
+                queue.offer(END);
+                return null;
+            }
+            delivered.incrementAndGet();
+            return record;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Check if every record has been handed out
+     * @return true if the file is exhausted
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Get number of records handed out
+     * @return Delivered record count
+     */
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    /**
+     * Get number of lines that could not be parsed
+     * @return Rejected line count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void read() {
+        boolean jsonLines = file.getFileName().toString().toLowerCase(Locale.ROOT).matches(".*\\.(jsonl|ndjson)");
+        Json json = new Json();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> header = jsonLines ? null : readHeader(reader.readLine());
+            String line;
+            long lineNumber = jsonLines ? 0 : 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                CustomerRecord record;
+                try {
+                    record = jsonLines ? fromJson(json, line) : fromCsv(header, line);
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                    System.err.println("Skipping " + file.getFileName() + ":" + lineNumber + ": " + e.getMessage());
+                    continue;
+                }
+                queue.put(record);
+            }
+            System.out.println("Customer feed " + file + " read to the end");
+        } catch (IOException e) {
+            System.err.println("Failed to read customer feed " + file + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<String> readHeader(String line) {
+        if (line == null) {
+            return List.of();
+        }
+        List<String> header = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        for (String column : header) {
+            if (!CustomerRecord.isKnownField(column)) {
+                System.out.println("Customer feed column ignored: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static CustomerRecord fromCsv(List<String> header, String line) {
+        List<String> cells = parseCsvLine(line);
+        if (cells.size() > header.size()) {
+            throw new IllegalArgumentException(cells.size() + " values for " + header.size() + " columns");
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            values.put(header.get(i), cells.get(i));
+        }
+        return CustomerRecord.fromValues(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CustomerRecord fromJson(Json json, String line) {
+        Map<String, Object> object = json.toType(line, Map.class);
+        Map<String, String> values = new LinkedHashMap<>();
+        object.forEach((name, value) -> values.put(name, value != null ? String.valueOf(value) : null));
+        return CustomerRecord.fromValues(values);
+    }
+
+    /**
+     * Split one CSV line; fields may be quoted, with "" for a quote inside a quoted field
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CustomerFeedTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void splitsPlainCells() {
+        assertEquals(List.of("a", "b", "c"), CustomerFeed.parseCsvLine("a,b,c"));
+        assertEquals(List.of("a", "", ""), CustomerFeed.parseCsvLine("a,,"));
+        assertEquals(List.of(""), CustomerFeed.parseCsvLine(""));
+    }
+
+    @Test
+    void keepsCommasAndQuotesInsideQuotedCells() {
+        assertEquals(List.of("12, MG Road", "Pune"), CustomerFeed.parseCsvLine("\"12, MG Road\",Pune"));
+        assertEquals(List.of("say \"hi\"", "x"), CustomerFeed.parseCsvLine("\"say \"\"hi\"\"\",x"));
+        assertEquals(List.of("", "b"), CustomerFeed.parseCsvLine("\"\",b"));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotedCell() {
+        assertThrows(IllegalArgumentException.class, () -> CustomerFeed.parseCsvLine("\"open,b"));
+    }
+
+    @Test
+    void streamsCsvRecordsAndSkipsBadLines() throws IOException {
+        Path file = directory.resolve("customers.csv");
+        Files.writeString(file, "\uFEFFCustomer Number,customer_name,address,unknown\n"
+                + "CUST00000001,Asha Rao,\"12, MG Road\",x\n"
+                + "CUST00000002,\"broken\n"
+                + "\n"
+                + ",Ravi Kumar,,\n");
+        CustomerFeed feed = new CustomerFeed(file, 2);
+
+        CustomerRecord first = feed.next();
+        assertEquals("CUST00000001", first.customerNumber());
+        assertEquals("Asha Rao", first.customerName());
+        assertEquals("12, MG Road", first.address());
+
+        CustomerRecord second = feed.next();
+        assertNull(second.customerNumber());
+        assertEquals("Ravi Kumar", second.customerName());
+        assertNull(second.address());
+
+        assertNull(feed.next());
+        assertTrue(feed.isExhausted());
+        assertEquals(2, feed.getDelivered());
+        assertEquals(1, feed.getRejected());
+    }
+
+    @Test
+    void streamsJsonLines() throws IOException {
+        Path file = directory.resolve("customers.jsonl");
+        Files.writeString(file, "{\"customerNumber\": \"CUST00000003\", \"zone\": \"West\"}\n");
+        CustomerFeed feed = new CustomerFeed(file, 2);
+
+        CustomerRecord record = feed.next();
+        assertEquals("CUST00000003", record.customerNumber());
+        assertEquals("West", record.zone());
+        assertNull(feed.next());
+    }
+}
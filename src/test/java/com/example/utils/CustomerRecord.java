@@ -0,0 +1,129 @@
+package com.example.utils;
+
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Values of one customer on the Add Customer form
+ * Dropdown values are option texts; null means a random option is selected
+ * @param customerNumber Customer number
+ * @param customerName Full name
+ * @param fatherName Father name
+ * @param phoneNumber Landline number
+ * @param email Email address
+ * @param mobileNumber Mobile number
+ * @param aadhaarNumber Aadhaar number
+ * @param address Street address
+ * @param secondaryAddress Secondary address line
+ * @param remarks Remarks text
+ * @param customerType Customer Type option
+ * @param industry Industry option
+ * @param segment Segment option
+ * @param businessUnit Business Unit option
+ * @param zone Zone option
+ * @param state State option
+ * @param location Location option
+ * @param addressType Address Type option
+ */
+public record CustomerRecord(
+        String customerNumber,
+        String customerName,
+        String fatherName,
+        String phoneNumber,
+        String email,
+        String mobileNumber,
+        String aadhaarNumber,
+        String address,
+        String secondaryAddress,
+        String remarks,
+        String customerType,
+        String industry,
+        String segment,
+        String businessUnit,
+        String zone,
+        String state,
+        String location,
+        String addressType) {
+
+    /**
+     * Create a record with text fields only, leaving every dropdown random
+     * @param customerNumber Customer number
+     * @param customerName Full name
+     * @param fatherName Father name
+     * @param phoneNumber Landline number
+     * @param email Email address
+     * @param mobileNumber Mobile number
+     * @param aadhaarNumber Aadhaar number
+     * @param address Street address
+     * @param secondaryAddress Secondary address line
+     * @param remarks Remarks text
+     */
+    public CustomerRecord(String customerNumber, String customerName, String fatherName, String phoneNumber,
+                          String email, String mobileNumber, String aadhaarNumber, String address,
+                          String secondaryAddress, String remarks) {
+        this(customerNumber, customerName, fatherName, phoneNumber, email, mobileNumber, aadhaarNumber, address,
+                secondaryAddress, remarks, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Create a record from named values, e.g. a CSV row or a JSON object
+     * Names are matched ignoring case, spaces, dashes and underscores (customer_number, Customer Number);
+     * missing and blank values become null
+     * @param values Field names mapped to values
+     * @return CustomerRecord
+     */
+    public static CustomerRecord fromValues(Map<String, String> values) {
+        Map<String, String> v = new LinkedHashMap<>();
+        values.forEach((name, value) -> {
+            if (value != null && !value.isBlank()) {
+                v.put(normalize(name), value.trim());
+            }
+        });
+        return new CustomerRecord(
+                v.get("customernumber"), v.get("customername"), v.get("fathername"), v.get("phonenumber"),
+                v.get("email"), v.get("mobilenumber"), v.get("aadhaarnumber"), v.get("address"),
+                v.get("secondaryaddress"), v.get("remarks"), v.get("customertype"), v.get("industry"),
+                v.get("segment"), v.get("businessunit"), v.get("zone"), v.get("state"), v.get("location"),
+                v.get("addresstype"));
+    }
+
+    /**
+     * Get the values of this record by field name, the reverse of fromValues
+     * @return Field names mapped to values, without null fields
+     */
+    public Map<String, String> toValues() {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (RecordComponent component : CustomerRecord.class.getRecordComponents()) {
+            try {
+                Object value = component.getAccessor().invoke(this);
+                if (value != null) {
+                    values.put(component.getName(), (String) value);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Check if a field name is known
+     * @param name Field name in any supported spelling
+     * @return true if fromValues reads the field
+     */
+    public static boolean isKnownField(String name) {
+        String key = normalize(name);
+        for (RecordComponent component : CustomerRecord.class.getRecordComponents()) {
+            if (component.getName().toLowerCase(Locale.ROOT).equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class CustomerRecordTest {
+
+    @Test
+    void matchesFieldNamesIgnoringCaseAndSeparators() {
+        Map<String, String> values = new HashMap<>();
+        values.put("customer_number", "CUST00000001");
+        values.put("Customer Name", "Asha Rao");
+        values.put("father-name", "Mohan Rao");
+        values.put("ADDRESSTYPE", "Office");
+        CustomerRecord record = CustomerRecord.fromValues(values);
+
+        assertEquals("CUST00000001", record.customerNumber());
+        assertEquals("Asha Rao", record.customerName());
+        assertEquals("Mohan Rao", record.fatherName());
+        assertEquals("Office", record.addressType());
+    }
+
+    @Test
+    void trimsValuesAndTurnsMissingOrBlankOnesIntoNull() {
+        Map<String, String> values = new HashMap<>();
+        values.put("email", "  asha@example.com ");
+        values.put("zone", "   ");
+        values.put("state", null);
+        CustomerRecord record = CustomerRecord.fromValues(values);
+
+        assertEquals("asha@example.com", record.email());
+        assertNull(record.zone());
+        assertNull(record.state());
+        assertNull(record.customerNumber());
+    }
+
+    @Test
+    void roundTripsThroughToValues() {
+        CustomerRecord record = new CustomerRecord("CUST00000001", "Asha Rao", "Mohan Rao", "0201234567",
+                "asha@example.com", "9876543210", "234567890123", "12 MG Road", "Camp", "None",
+                "Individual", null, null, null, "West", "Maharashtra", "Pune", null);
+        assertEquals(record, CustomerRecord.fromValues(record.toValues()));
+        assertFalse(record.toValues().containsKey("industry"));
+    }
+
+    @Test
+    void knowsItsFields() {
+        assertTrue(CustomerRecord.isKnownField("Secondary Address"));
+        assertFalse(CustomerRecord.isKnownField("pan"));
+    }
+
+    @Test
+    void completesOnlyTheFieldsARecordLeavesEmpty() {
+        CustomerRecord partial = new CustomerRecord("CUST00000001", null, "Mohan Rao", "0201234567",
+                "asha@example.com", "9876543210", "234567890123", "12 MG Road", "Camp", "None",
+                null, null, null, null, "West", null, null, null);
+        CustomerRecord complete = RandomDataGenerator.completeCustomerRecord(partial);
+
+        assertNotNull(complete.customerName());
+        assertEquals(partial, new CustomerRecord(complete.customerNumber(), null, complete.fatherName(),
+                complete.phoneNumber(), complete.email(), complete.mobileNumber(), complete.aadhaarNumber(),
+                complete.address(), complete.secondaryAddress(), complete.remarks(), complete.customerType(),
+                complete.industry(), complete.segment(), complete.businessUnit(), complete.zone(),
+                complete.state(), complete.location(), complete.addressType()));
+    }
+}
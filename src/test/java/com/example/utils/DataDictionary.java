@@ -0,0 +1,121 @@
+package com.example.utils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import com.github.javafaker.service.FakeValuesService;
+import com.github.javafaker.service.RandomService;
+
+/**
+ * Faker word lists resolved once into plain arrays
+ * Faker looks every value up in its YAML tree and evaluates expressions on each call;
+ * picking from an array with a caller-supplied RNG is lock-free and orders of magnitude faster
+ */
+public class DataDictionary {
+
+    private static final FakeValuesService VALUES = new FakeValuesService(Locale.ENGLISH, new RandomService());
+
+    private static final String[] FIRST_NAMES = concat(load("name.male_first_name"), load("name.female_first_name"));
+    private static final String[] MALE_FIRST_NAMES = load("name.male_first_name");
+    private static final String[] LAST_NAMES = load("name.last_name");
+    private static final String[] STREET_SUFFIXES = load("address.street_suffix");
+    private static final String[] BUILDING_NUMBERS = load("address.building_number");
+    private static final String[] SECONDARY_ADDRESSES = load("address.secondary_address");
+    private static final String[] LOREM_WORDS = load("lorem.words");
+    private static final String[] EMAIL_DOMAINS = load("internet.free_email");
+
+    private DataDictionary() {
+    }
+
+    /**
+     * Pick a first name of any gender
+     * @param random Random source
+     * @return First name
+     */
+    public static String firstName(SplittableRandom random) {
+        return pick(FIRST_NAMES, random);
+    }
+
+    /**
+     * Pick a male first name
+     * @param random Random source
+     * @return Male first name
+     */
+    public static String maleFirstName(SplittableRandom random) {
+        return pick(MALE_FIRST_NAMES, random);
+    }
+
+    /**
+     * Pick a last name
+     * @param random Random source
+     * @return Last name
+     */
+    public static String lastName(SplittableRandom random) {
+        return pick(LAST_NAMES, random);
+    }
+
+    /**
+     * Pick a street suffix (Avenue, Lane, ...)
+     * @param random Random source
+     * @return Street suffix
+     */
+    public static String streetSuffix(SplittableRandom random) {
+        return pick(STREET_SUFFIXES, random);
+    }
+
+    /**
+     * Pick a building number pattern, # stands for a digit
+     * @param random Random source
+     * @return Pattern such as ####
+     */
+    public static String buildingNumberPattern(SplittableRandom random) {
+        return pick(BUILDING_NUMBERS, random);
+    }
+
+    /**
+     * Pick a secondary address pattern, # stands for a digit
+     * @param random Random source
+     * @return Pattern such as Suite ###
+     */
+    public static String secondaryAddressPattern(SplittableRandom random) {
+        return pick(SECONDARY_ADDRESSES, random);
+    }
+
+    /**
+     * Pick a lorem ipsum word
+     * @param random Random source
+     * @return Lower-case word
+     */
+    public static String loremWord(SplittableRandom random) {
+        return pick(LOREM_WORDS, random);
+    }
+
+    /**
+     * Pick a free email domain
+     * @param random Random source
+     * @return Domain such as gmail.com
+     */
+    public static String emailDomain(SplittableRandom random) {
+        return pick(EMAIL_DOMAINS, random);
+    }
+
+    private static String pick(String[] words, SplittableRandom random) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String[] load(String key) {
+        Object values = VALUES.fetchObject(key);
+        if (!(values instanceof List)) {
+            throw new IllegalStateException("Faker dictionary not found: " + key);
+        }
+        return ((List<?>) values).stream().map(String::valueOf).toArray(String[]::new);
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] all = new String[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Local copy of one part of the page for read-heavy checks
+ * The mirror covers the subtree of a root element, e.g. a form or a grid container. One script
+ * returns a mutation counter of that subtree (mutations inside the root or on one of its
+ * ancestors) and, only when it changed since the last call, a copy of the subtree with field
+ * values, checked/selected state and visibility (data-visible) written into attributes. The copy
+ * is parsed once and every read after that runs locally, so a check of many elements costs one
+ * round trip instead of one or more each.
+ * Locators are evaluated with XPath; By.id, By.name, By.tagName, By.className and By.xpath
+ * are supported. Relative XPaths (//...) search the subtree; an absolute XPath must go through
+ * the root and write its steps the way a browser's "copy full XPath" does (an index only where
+ * the tag repeats among siblings). While no element matches the root nothing is visible.
+ * Visibility changes that come from no DOM mutation (e.g. a window resize) are only seen once
+ * something else mutates the subtree.
+ */
+public class DomMirror {
+
+    /**
+     * Returns { stamp } when the root's subtree is unchanged since the given stamp, { stamp, absent }
+     * when no element matches the root, else { stamp, path, xml } with the root's absolute XPath.
+     * The stamp is a page id (new after every navigation) and a per-root counter that every
+     * mutation and every input or change event inside the root or on an ancestor increases.
+     */
+    private static final String SNAPSHOT_SCRIPT =
+            "var known = arguments[0], rootXpath = arguments[1], m = window.__lmsDomMirror;"
+            + " if (!m) {"
+            + "   m = window.__lmsDomMirror = { id: Date.now().toString(36) + Math.random().toString(36).slice(2), roots: {} };"
+            + "   m.touch = function (target) {"
+            + "     for (var k in m.roots) {"
+            + "       var r = m.roots[k];"
+            + "       if (r.el && target && (r.el.contains(target) || target.contains(r.el))) { r.version++; }"
+            + "     }"
+            + "   };"
+            + "   var onEvent = function (e) { m.touch(e.target); };"
+            + "   m.observer = new MutationObserver(function (records) { records.forEach(function (x) { m.touch(x.target); }); });"
+            + "   m.observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "   document.addEventListener('input', onEvent, true);"
+            + "   document.addEventListener('change', onEvent, true);"
+            + " }"
+            + " m.observer.takeRecords().forEach(function (x) { m.touch(x.target); });"
+            + " var root = document.evaluate(rootXpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + " var r = m.roots[rootXpath] || (m.roots[rootXpath] = { el: null, version: 0 });"
+            + " if (r.el !== root) { r.el = root; r.version++; }"
+            + " var stamp = m.id + ':' + r.version;"
+            + " if (stamp === known) { return { stamp: stamp }; }"
+            + " if (!root) { return { stamp: stamp, absent: true }; }"
+            + " var path = '';"
+            + " for (var n = root; n; n = n.parentElement) {"
+            + "   var same = 0, position = 0;"
+            + "   Array.prototype.forEach.call(n.parentNode.children, function (c) {"
+            + "     if (c.tagName === n.tagName) { same++; if (c === n) { position = same; } }"
+            + "   });"
+            + "   path = '/' + n.tagName.toLowerCase() + (same > 1 ? '[' + position + ']' : '') + path;"
+            + " }"
+            + " var copy = root.cloneNode(true);"
+            + " var from = [root].concat(Array.prototype.slice.call(root.querySelectorAll('*')));"
+            + " var to = [copy].concat(Array.prototype.slice.call(copy.querySelectorAll('*')));"
+            + " for (var i = 0; i < from.length; i++) {"
+            + "   var s = from[i], d = to[i];"
+            + "   var visible = !!(s.offsetWidth || s.offsetHeight || s.getClientRects().length)"
+            + "     && getComputedStyle(s).visibility !== 'hidden';"
+            + "   for (var k = d.attributes.length - 1; k >= 0; k--) {"
+            + "     if (!/^[A-Za-z_][\\w.-]*$/.test(d.attributes[k].name)) { d.removeAttribute(d.attributes[k].name); }"
+            + "   }"
+            + "   d.setAttribute('data-visible', visible);"
+            + "   if (s.tagName === 'INPUT' && (s.type === 'checkbox' || s.type === 'radio')) {"
+            + "     if (s.checked) { d.setAttribute('checked', 'checked'); } else { d.removeAttribute('checked'); }"
+            + "   } else if (s.tagName === 'INPUT') {"
+            + "     d.setAttribute('value', s.value);"
+            + "   } else if (s.tagName === 'TEXTAREA') {"
+            + "     d.textContent = s.value;"
+            + "   } else if (s.tagName === 'OPTION') {"
+            + "     if (s.selected) { d.setAttribute('selected', 'selected'); } else { d.removeAttribute('selected'); }"
+            + "   }"
+            + " }"
+            + " copy.querySelectorAll('head, script, style, svg, noscript, template').forEach(function (n) { n.remove(); });"
+            + " return { stamp: stamp, path: path, xml: new XMLSerializer().serializeToString(copy) };";
+
+    private final WebDriver driver;
+    private final String rootXpath;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private String stamp;
+    private Snapshot current;
+
+    /**
+     * Constructor
+     * @param driver WebDriver instance
+     * @param root By locator of the element whose subtree is mirrored, e.g. a form or grid container
+     */
+    public DomMirror(WebDriver driver, By root) {
+        this.driver = driver;
+        this.rootXpath = toXpath(root);
+    }
+
+    /**
+     * Bring the mirror up to date with one script call; the copy is only sent when the root's subtree changed
+     * Take one snapshot for a series of reads so they all cost a single round trip.
+     * @return Snapshot of the root's subtree as it is now, empty while no element matches the root
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot snapshot() {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                stamp, rootXpath);
+        String xml = (String) result.get("xml");
+        if (xml != null) {
+            current = new Snapshot(parse(xml), (String) result.get("path"), xpath);
+            stamp = (String) result.get("stamp");
+        } else if (Boolean.TRUE.equals(result.get("absent"))) {
+            current = new Snapshot(emptyDocument(), null, xpath);
+            stamp = (String) result.get("stamp");
+        }
+        return current;
+    }
+
+    /**
+     * Check if the first element matching a locator is visible
+     * @param locator By locator
+     * @return true if an element matches and is visible
+     */
+    public boolean isVisible(By locator) {
+        return snapshot().isVisible(locator);
+    }
+
+    private static Document parse(String xml) {
+        try {
+            DocumentBuilder builder = newBuilder();
+            // Control characters are legal in an HTML text node but not in XML
+            String cleaned = xml.replaceAll("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F]", "");
+            return builder.parse(new InputSource(new StringReader(cleaned)));
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new WebDriverException("Failed to parse the DOM mirror: " + e.getMessage(), e);
+        }
+    }
+
+    private static Document emptyDocument() {
+        try {
+            return newBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new WebDriverException("Failed to create the DOM mirror: " + e.getMessage(), e);
+        }
+    }
+
+    private static DocumentBuilder newBuilder() throws ParserConfigurationException {
+        // Not namespace aware, so locators match the XHTML elements without a prefix
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(false);
+        return factory.newDocumentBuilder();
+    }
+
+    private static String toXpath(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("DomMirror does not support " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "xpath":
+                return value;
+            case "id":
+                return "//*[@id=" + literal(value) + "]";
+            case "name":
+                return "//*[@name=" + literal(value) + "]";
+            case "tag name":
+                return "//" + value;
+            case "class name":
+                return "//*[contains(concat(' ', normalize-space(@class), ' '), " + literal(" " + value + " ") + ")]";
+            default:
+                throw new IllegalArgumentException("DomMirror does not support " + locator);
+        }
+    }
+
+    private static String literal(String value) {
+        return value.contains("'") ? "\"" + value + "\"" : "'" + value + "'";
+    }
+
+    private static String text(Element element) {
+        return element.getTextContent().replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Parsed copy of the root's subtree at one point in time; reads never go to the browser
+     */
+    public static final class Snapshot {
+
+        private final Document document;
+        // Absolute XPath of the root on the live page, null while the root is absent
+        private final String rootPath;
+        private final XPath xpath;
+
+        private Snapshot(Document document, String rootPath, XPath xpath) {
+            this.document = document;
+            this.rootPath = rootPath;
+            this.xpath = xpath;
+        }
+
+        /**
+         * Check if the first element matching a locator is visible
+         * @param locator By locator
+         * @return true if an element matches and is visible
+         */
+        public boolean isVisible(By locator) {
+            NodeList found = find(locator);
+            return found.getLength() > 0 && "true".equals(((Element) found.item(0)).getAttribute("data-visible"));
+        }
+
+        /**
+         * Get the text of the first element matching a locator, whitespace collapsed
+         * @param locator By locator
+         * @return Text, or null if no element matches
+         */
+        public String getText(By locator) {
+            NodeList found = find(locator);
+            return found.getLength() == 0 ? null : text((Element) found.item(0));
+        }
+
+        /**
+         * Get the texts of all visible elements matching a locator, e.g. the rows of a grid
+         * @param locator By locator
+         * @return Texts in document order
+         */
+        public List<String> getTexts(By locator) {
+            NodeList found = find(locator);
+            List<String> texts = new ArrayList<>();
+            for (int i = 0; i < found.getLength(); i++) {
+                Element element = (Element) found.item(i);
+                if ("true".equals(element.getAttribute("data-visible"))) {
+                    texts.add(text(element));
+                }
+            }
+            return texts;
+        }
+
+        /**
+         * Get the value of the first field matching a locator; for a select, the selected option's value
+         * @param locator By locator
+         * @return Value, or null if no element matches
+         */
+        public String getValue(By locator) {
+            NodeList found = find(locator);
+            if (found.getLength() == 0) {
+                return null;
+            }
+            Element field = (Element) found.item(0);
+            switch (field.getTagName()) {
+                case "select":
+                    NodeList options = field.getElementsByTagName("option");
+                    for (int i = 0; i < options.getLength(); i++) {
+                        Element option = (Element) options.item(i);
+                        if (option.hasAttribute("selected")) {
+                            return option.hasAttribute("value") ? option.getAttribute("value") : text(option);
+                        }
+                    }
+                    return "";
+                case "textarea":
+                    return field.getTextContent();
+                default:
+                    return field.getAttribute("value");
+            }
+        }
+
+        private NodeList find(By locator) {
+            try {
+                return (NodeList) xpath.evaluate(inCopy(toXpath(locator)), document, XPathConstants.NODESET);
+            } catch (XPathExpressionException e) {
+                throw new IllegalArgumentException("Cannot evaluate " + locator + " on the DOM mirror", e);
+            }
+        }
+
+        /**
+         * Rewrite an absolute XPath of the live page onto the copy, whose document element is the root
+         * @param expression XPath of the locator
+         * @return XPath to evaluate on the copy
+         */
+        private String inCopy(String expression) {
+            if (rootPath == null || !expression.startsWith("/") || expression.startsWith("//")) {
+                return expression;
+            }
+            String rest = expression.startsWith(rootPath) ? expression.substring(rootPath.length()) : null;
+            if (rest == null || !(rest.isEmpty() || rest.startsWith("/"))) {
+                throw new IllegalArgumentException(expression + " is outside the DOM mirror root " + rootPath);
+            }
+            String rootStep = rootPath.substring(rootPath.lastIndexOf('/') + 1).replaceFirst("\\[\\d+]$", "");
+            return "/" + rootStep + rest;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import com.example.utils.DomMirror.Snapshot;
+
+public class DomMirrorTest {
+
+    private static final String ROOT_PATH = "/html/body/div[2]/form";
+    private static final String FORM = "<form id=\"customer\" data-visible=\"true\">"
+            + "<input id=\"CustomerNo\" value=\"C-42\" data-visible=\"true\"/>"
+            + "<div class=\"row first\" data-visible=\"true\">One <b>row</b></div>"
+            + "<div class=\"row\" data-visible=\"false\">Two</div>"
+            + "<select name=\"ZoneId\" data-visible=\"true\">"
+            + "<option value=\"\" data-visible=\"true\">Select Zone</option>"
+            + "<option value=\"4\" selected=\"selected\" data-visible=\"true\">North</option></select>"
+            + "<textarea id=\"Remarks\" data-visible=\"true\">Call first</textarea>"
+            + "</form>";
+
+    private final Deque<Map<String, Object>> results = new ArrayDeque<>();
+    private final List<Object> knownStamps = new ArrayList<>();
+
+    @Test
+    void readsFieldsOfTheSubtree() {
+        results.add(Map.of("stamp", "page:1", "path", ROOT_PATH, "xml", FORM));
+        Snapshot snapshot = mirror().snapshot();
+
+        assertEquals("C-42", snapshot.getValue(By.id("CustomerNo")));
+        assertEquals("4", snapshot.getValue(By.name("ZoneId")));
+        assertEquals("Call first", snapshot.getValue(By.id("Remarks")));
+        assertEquals("One row", snapshot.getText(By.className("first")));
+        assertEquals(List.of("One row"), snapshot.getTexts(By.className("row")));
+        assertTrue(snapshot.isVisible(By.tagName("select")));
+        assertFalse(snapshot.isVisible(By.xpath("//div[text()='Two']")));
+        assertNull(snapshot.getValue(By.id("Missing")));
+    }
+
+    @Test
+    void rewritesAbsoluteXpathsOntoTheRoot() {
+        results.add(Map.of("stamp", "page:1", "path", ROOT_PATH, "xml", FORM));
+        Snapshot snapshot = mirror().snapshot();
+
+        assertTrue(snapshot.isVisible(By.xpath(ROOT_PATH)));
+        assertEquals("Two", snapshot.getText(By.xpath(ROOT_PATH + "/div[2]")));
+        assertEquals("North", snapshot.getText(By.xpath(ROOT_PATH + "/select/option[2]")));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getText(By.xpath("/html/body/div[1]")));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getText(By.xpath(ROOT_PATH + "s/div")));
+    }
+
+    @Test
+    void keepsTheCopyWhileTheSubtreeIsUnchanged() {
+        DomMirror mirror = mirror();
+        results.add(Map.of("stamp", "page:1", "path", ROOT_PATH, "xml", FORM));
+        results.add(Map.of("stamp", "page:1"));
+        results.add(Map.of("stamp", "page:2", "absent", true));
+
+        Snapshot first = mirror.snapshot();
+        assertSame(first, mirror.snapshot());
+        Snapshot absent = mirror.snapshot();
+
+        assertEquals(Arrays.asList(null, "page:1", "page:1"), knownStamps);
+        assertFalse(absent.isVisible(By.id("CustomerNo")));
+        assertNull(absent.getText(By.xpath(ROOT_PATH + "/div[1]")));
+    }
+
+    private DomMirror mirror() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("executeScript")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object[] scriptArgs = (Object[]) args[1];
+                    knownStamps.add(scriptArgs[0]);
+                    return results.remove();
+                });
+        return new DomMirror(driver, By.id("customer"));
+    }
+}
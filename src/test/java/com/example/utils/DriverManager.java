@@ -0,0 +1,213 @@
+package com.example.utils;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * Thread-confined WebDriver holder
+ * Each worker thread owns exactly one driver so scenarios can run in parallel
+ */
+public class DriverManager {
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    // Inherited by the worker threads a matrix run starts, so each run keeps its own browser
+    private static final InheritableThreadLocal<String> BROWSER = new InheritableThreadLocal<>();
+    private static final CommandLatencyListener LATENCY_LISTENER = new CommandLatencyListener();
+    private static final Set<String> RESOLVED_BROWSERS = ConcurrentHashMap.newKeySet();
+
+    private DriverManager() {
+    }
+
+    /**
+     * Get WebDriver bound to the current thread
+     * @return WebDriver instance or null if none is bound
+     */
+    public static WebDriver getDriver() {
+        return DRIVER.get();
+    }
+
+    /**
+     * Bind WebDriver to the current thread
+     * @param driver WebDriver instance
+     */
+    public static void setDriver(WebDriver driver) {
+        DRIVER.set(driver);
+    }
+
+    /**
+     * Unbind WebDriver from the current thread without quitting it
+     */
+    public static void unbindDriver() {
+        DRIVER.remove();
+    }
+
+    /**
+     * Quit WebDriver bound to the current thread and unbind it
+     */
+    public static void quitDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver != null) {
+            try {
+                driver.quit();
+            } finally {
+                DRIVER.remove();
+            }
+        }
+    }
+
+    /**
+     * Get browser name for the current run
+     * A browser set for this thread (matrix mode) wins over the browser property
+     * @return Browser name in lower case
+     */
+    public static String getBrowser() {
+        String browser = BROWSER.get();
+        if (browser != null) {
+            return browser;
+        }
+        return System.getProperty("browser", ConfigReader.getBrowser()).toLowerCase();
+    }
+
+    /**
+     * Set the browser for the current thread and every thread it starts afterwards
+     * @param browser Browser name (chrome, firefox, edge)
+     */
+    public static void setBrowser(String browser) {
+        BROWSER.set(browser.toLowerCase());
+    }
+
+    /**
+     * Create a new WebDriver for the given browser type
+     * The driver is wrapped with the command latency listener when instrumentation is enabled
+     * @param browser Browser name (chrome, firefox, edge)
+     * @return New WebDriver instance
+     */
+    public static WebDriver createDriver(String browser) {
+        WebDriver driver = createBrowser(browser);
+        if (ConfigReader.isInstrumentationEnabled()) {
+            return new EventFiringDecorator<>(LATENCY_LISTENER).decorate(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * Get the underlying browser driver of a possibly instrumented driver
+     * @param driver WebDriver instance
+     * @return Undecorated WebDriver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+        return current;
+    }
+
+    /**
+     * Start a browser of the given type
+     * @param browser Browser name (chrome, firefox, edge)
+     * @return New WebDriver instance
+     */
+    private static WebDriver createBrowser(String browser) {
+        boolean headless = Boolean.parseBoolean(
+                System.getProperty("headless.mode", String.valueOf(ConfigReader.isHeadlessMode())));
+
+        switch (browser) {
+            case "chrome":
+                resolveDriverBinary(browser);
+                ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.addArguments("--start-maximized");
+                chromeOptions.addArguments("--disable-notifications");
+                chromeOptions.addArguments("--disable-popup-blocking");
+                chromeOptions.addArguments("--remote-allow-origins=*");
+                if (headless) {
+                    chromeOptions.addArguments("--headless=new");
+                    chromeOptions.addArguments("--window-size=1920,1080");
+                }
+                return new ChromeDriver(chromeOptions);
+
+            case "firefox":
+                resolveDriverBinary(browser);
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.addArguments("--start-maximized");
+                if (headless) {
+                    firefoxOptions.addArguments("--headless");
+                }
+                return new FirefoxDriver(firefoxOptions);
+
+            case "edge":
+                resolveDriverBinary(browser);
+                EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.addArguments("--start-maximized");
+                edgeOptions.addArguments("--disable-notifications");
+                if (headless) {
+                    edgeOptions.addArguments("--headless=new");
+                    edgeOptions.addArguments("--window-size=1920,1080");
+                }
+                return new EdgeDriver(edgeOptions);
+
+            default:
+                System.out.println("Browser not supported. Defaulting to Chrome.");
+                resolveDriverBinary("chrome");
+                return new ChromeDriver();
+        }
+    }
+
+    /**
+     * Get implicit wait applied to every driver
+     * @return Implicit wait duration, zero unless implicit.wait is set
+     */
+    public static Duration getImplicitWait() {
+        return Duration.ofSeconds(ConfigReader.getImplicitWait());
+    }
+
+    /**
+     * Apply standard timeouts and window size to a freshly created driver
+     * @param driver WebDriver instance
+     */
+    public static void configureDriver(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(getImplicitWait());
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+        driver.manage().window().maximize();
+    }
+
+    /**
+     * Resolve driver binary once per browser type
+     * WebDriverManager writes to a shared cache, so parallel workers must not race on it
+     * @param browser Browser name
+     */
+    private static void resolveDriverBinary(String browser) {
+        if (RESOLVED_BROWSERS.contains(browser)) {
+            return;
+        }
+        synchronized (RESOLVED_BROWSERS) {
+            if (RESOLVED_BROWSERS.contains(browser)) {
+                return;
+            }
+            switch (browser) {
+                case "firefox":
+                    WebDriverManager.firefoxdriver().setup();
+                    break;
+                case "edge":
+                    WebDriverManager.edgedriver().setup();
+                    break;
+                default:
+                    WebDriverManager.chromedriver().setup();
+            }
+            RESOLVED_BROWSERS.add(browser);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+/**
+ * Pool of warm browsers shared by all worker threads
+ * A browser is leased per scenario, reset to a clean state on return
+ * and recycled after a configurable number of uses or when the scenario failed.
+ * The reset clears every origin the lease touched: app.url, origins opened through
+ * {@link #trackOrigin} and the origins of all windows open at release. A browser whose
+ * origins cannot all be cleared is quit instead of reused.
+ */
+public class DriverPool {
+
+    private static final Map<String, DriverPool> POOLS = new ConcurrentHashMap<>();
+
+    private final String browser;
+    private final int maxUses;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, Integer> uses = new ConcurrentHashMap<>();
+    // Origins opened by leased browsers since their last reset
+    private static final Map<WebDriver, Set<String>> ORIGINS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdownAll, "driver-pool-shutdown"));
+    }
+
+    private DriverPool(String browser, int maxUses) {
+        this.browser = browser;
+        this.maxUses = maxUses;
+    }
+
+    /**
+     * Get the pool for a browser type, creating it on first use
+     * @param browser Browser name
+     * @return DriverPool for the browser
+     */
+    public static DriverPool forBrowser(String browser) {
+        return POOLS.computeIfAbsent(browser, b -> new DriverPool(b, ConfigReader.getDriverPoolMaxUses()));
+    }
+
+    /**
+     * Lease a browser, reusing a warm one when available
+     * The most recently returned browser is handed out first so it stays hot
+     * @return WebDriver ready for a new scenario
+     */
+    public WebDriver lease() {
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (isAlive(driver)) {
+                return driver;
+            }
+            discard(driver);
+        }
+        driver = DriverManager.createDriver(browser);
+        DriverManager.configureDriver(driver);
+        uses.put(driver, 0);
+        System.out.println("Pool [" + browser + "] started new browser, " + uses.size() + " open");
+        return driver;
+    }
+
+    /**
+     * Return a leased browser to the pool
+     * @param driver Leased WebDriver
+     * @param failed true if the scenario using it failed
+     */
+    public void release(WebDriver driver, boolean failed) {
+        if (driver == null) {
+            return;
+        }
+        int count = uses.merge(driver, 1, Integer::sum);
+        if (failed || count >= maxUses || !reset(driver)) {
+            discard(driver);
+            return;
+        }
+        idle.offerFirst(driver);
+    }
+
+    /**
+     * Note an origin a browser is about to open, so its reset clears that origin too
+     * @param driver WebDriver instance
+     * @param url URL being opened
+     */
+    public static void trackOrigin(WebDriver driver, String url) {
+        String origin = originOf(url);
+        if (driver != null && origin != null && ConfigReader.isDriverPoolEnabled()) {
+            ORIGINS.computeIfAbsent(driver, d -> ConcurrentHashMap.newKeySet()).add(origin);
+        }
+    }
+
+    /**
+     * Quit every browser owned by this pool
+     */
+    public void shutdown() {
+        List<WebDriver> all = new ArrayList<>(uses.keySet());
+        idle.clear();
+        for (WebDriver driver : all) {
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quit every browser owned by any pool
+     */
+    public static void shutdownAll() {
+        for (DriverPool pool : POOLS.values()) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Reset browser to a clean state: one fresh tab, no cookies and empty storage on every touched origin
+     * The fresh tab drops the session storage of all origins. Chromium clears cookies and storage
+     * through CDP; other browsers open each origin to clear it there.
+     * @param driver WebDriver instance
+     * @return true if the browser was reset and can be reused
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            Set<String> origins = new LinkedHashSet<>();
+            origins.add(originOf(ConfigReader.getAppUrl()));
+            origins.addAll(ORIGINS.getOrDefault(driver, Set.of()));
+            Set<String> handles = driver.getWindowHandles();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                origins.add(originOf((String) ((JavascriptExecutor) driver).executeScript("return location.origin;")));
+            }
+            origins.remove(null);
+
+            driver.switchTo().newWindow(WindowType.TAB);
+            String fresh = driver.getWindowHandle();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(fresh);
+
+            WebDriver browserDriver = DriverManager.unwrap(driver);
+            if (browserDriver instanceof ChromiumDriver) {
+                ChromiumDriver chromium = (ChromiumDriver) browserDriver;
+                chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                for (String origin : origins) {
+                    chromium.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.of("origin", origin, "storageTypes", "all"));
+                }
+            } else {
+                for (String origin : origins) {
+                    driver.get(origin + "/");
+                    String landed = (String) ((JavascriptExecutor) driver).executeScript(
+                            "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}"
+                            + " return location.origin;");
+                    driver.manage().deleteAllCookies();
+                    if (!origin.equals(landed)) {
+                        System.err.println("Pooled browser could not open " + origin + " to clear it (landed on "
+                                + landed + "), recycling it");
+                        return false;
+                    }
+                }
+            }
+
+            driver.get("about:blank");
+            ORIGINS.remove(driver);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Failed to reset pooled browser, recycling it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Get scheme, host and port of a URL
+     * @param url URL
+     * @return Origin, or null for URLs without one (about:blank, data:)
+     */
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || !uri.getScheme().startsWith("http") || uri.getAuthority() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check that the browser session still responds
+     * @param driver WebDriver instance
+     * @return true if the session is usable
+     */
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Quit a browser and forget about it
+     * @param driver WebDriver instance
+     */
+    private void discard(WebDriver driver) {
+        uses.remove(driver);
+        ORIGINS.remove(driver);
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to quit browser: " + e.getMessage());
+        }
+    }
+}
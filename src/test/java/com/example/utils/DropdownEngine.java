@@ -0,0 +1,249 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Reads, picks and selects a dropdown option in one script call
+ * Selenium's Select fetches a remote reference per option and issues several more commands to
+ * select one; here the browser reads the options, picks one by visible text or by a random
+ * fraction drawn in Java (so data.seed still makes the choice reproducible), selects it and fires
+ * input and change events. A select of the same form that mutates within the watch window after
+ * the change (synchronously or from an AJAX callback) is a dependent; the time until it holds
+ * real options again is measured in the browser and collected when it is selected next
+ * (dropdown.report.file).
+ */
+public class DropdownEngine {
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    // Dependents not repopulated by then are no longer watched
+    private static final long WATCH_MILLIS = 60_000;
+    private static final Map<String, Histogram> REPOPULATE = new ConcurrentHashMap<>();
+    // Values of the "Select ..." options, never picked; passed to the scripts so both sides agree
+    private static final List<String> PLACEHOLDER_VALUES = List.of("", "0", "-1");
+
+    /**
+     * Notes when each select was last clicked or focused, so a select still loading its own
+     * options is not taken for a dependent of a select changed meanwhile
+     */
+    private static final String OPEN_TRACKER_SCRIPT =
+            "if (!window.__lmsSelectOpened) {"
+            + "   var opened = window.__lmsSelectOpened = {};"
+            + "   var note = function (e) {"
+            + "     var s = e.target && e.target.closest ? e.target.closest('select') : null;"
+            + "     if (s) { opened[s.id || s.name] = performance.now(); }"
+            + "   };"
+            + "   ['mousedown', 'focusin', 'click'].forEach(function (type) { document.addEventListener(type, note, true); });"
+            + " }";
+
+    /**
+     * Returns { key, value, text, count, parent, repopulateMillis } or { error, options }.
+     * Placeholder options ("", "0", "-1" values) and disabled options are never picked.
+     * Every other select of the form is observed for the watch window after the change event;
+     * its first mutation, during the event or later from an AJAX callback, makes it a dependent,
+     * and it stays observed until it has real options again. Selects opened recently that are
+     * still loading their own options are skipped, and a newer change takes over a select
+     * from an older one.
+     */
+    private static final String SELECT_SCRIPT =
+            OPEN_TRACKER_SCRIPT
+            + " var select = arguments[0], wanted = arguments[1], fraction = arguments[2], watchMillis = arguments[3],"
+            + "   placeholders = arguments[4];"
+            + " var timings = window.__lmsDropdowns || (window.__lmsDropdowns = {});"
+            + " var watchers = window.__lmsDropdownWatchers || (window.__lmsDropdownWatchers = {});"
+            + " function keyOf(s) { return s.id || s.name; }"
+            + " function realIndexes(s) {"
+            + "   var found = [];"
+            + "   for (var i = 0; i < s.options.length; i++) {"
+            + "     var o = s.options[i];"
+            + "     if (!o.disabled && placeholders.indexOf(o.value) < 0) { found.push(i); }"
+            + "   }"
+            + "   return found;"
+            + " }"
+            + " var result = { key: keyOf(select) };"
+            + " var previous = timings[keyOf(select)];"
+            + " if (previous && previous.repopulatedAt !== null) {"
+            + "   result.parent = previous.parent;"
+            + "   result.repopulateMillis = previous.repopulatedAt - previous.changedAt;"
+            + " }"
+            + " delete timings[keyOf(select)];"
+            + " var real = realIndexes(select), index = -1;"
+            + " if (wanted !== null) {"
+            + "   for (var i = 0; i < select.options.length && index < 0; i++) {"
+            + "     if (select.options[i].text.trim() === wanted.trim()) { index = i; }"
+            + "   }"
+            + " } else if (real.length > 0) {"
+            + "   index = real[Math.min(Math.floor(fraction * real.length), real.length - 1)];"
+            + " }"
+            + " if (index < 0) {"
+            + "   return { error: real.length === 0 ? 'empty' : 'missing',"
+            + "     options: real.slice(0, 50).map(function (i) { return select.options[i].text.trim(); }) };"
+            + " }"
+            + " var now = performance.now(), watched = [];"
+            + " Array.prototype.forEach.call((select.form || document).querySelectorAll('select'), function (other) {"
+            + "   var key = keyOf(other), openedAt = window.__lmsSelectOpened[key];"
+            + "   if (other === select) { return; }"
+            + "   if (openedAt !== undefined && now - openedAt < watchMillis && realIndexes(other).length === 0) { return; }"
+            + "   if (watchers[key]) { watchers[key].disconnect(); }"
+            + "   var entry = { parent: keyOf(select), changedAt: 0, repopulatedAt: null };"
+            + "   var observer;"
+            + "   var check = function () {"
+            + "     timings[key] = entry;"
+            + "     if (!other.disabled && realIndexes(other).length > 0) {"
+            + "       entry.repopulatedAt = performance.now();"
+            + "       observer.disconnect();"
+            + "       if (watchers[key] === observer) { delete watchers[key]; }"
+            + "     }"
+            + "   };"
+            + "   observer = new MutationObserver(check);"
+            + "   observer.observe(other, { childList: true, subtree: true, attributes: true, attributeFilter: ['disabled'] });"
+            + "   watchers[key] = observer;"
+            + "   setTimeout(function () {"
+            + "     if (watchers[key] === observer) { observer.disconnect(); delete watchers[key]; }"
+            + "   }, watchMillis);"
+            + "   watched.push({ entry: entry, observer: observer, check: check });"
+            + " });"
+            + " var changedAt = performance.now();"
+            + " watched.forEach(function (w) { w.entry.changedAt = changedAt; });"
+            + " select.selectedIndex = index;"
+            + " select.dispatchEvent(new Event('input', { bubbles: true }));"
+            + " select.dispatchEvent(new Event('change', { bubbles: true }));"
+            + " watched.forEach(function (w) { if (w.observer.takeRecords().length > 0) { w.check(); } });"
+            + " result.value = select.value;"
+            + " result.text = select.options[index].text.trim();"
+            + " result.count = real.length;"
+            + " return result;";
+
+    private static boolean reportRegistered;
+
+    private final WebDriver driver;
+
+    public DropdownEngine(WebDriver driver) {
+        this.driver = driver;
+        registerReport();
+    }
+
+    /**
+     * Select an option in one round trip
+     * @param dropdown Select element whose options are loaded
+     * @param optionText Visible text of the option to select, null for a random real option
+     * @param fraction Random value from 0 to 1 that picks the option when optionText is null
+     * @return Selected option
+     */
+    @SuppressWarnings("unchecked")
+    public Selection select(WebElement dropdown, String optionText, double fraction) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SELECT_SCRIPT,
+                dropdown, optionText, fraction, WATCH_MILLIS, PLACEHOLDER_VALUES);
+        if (result.containsKey("error")) {
+            throw new NoSuchElementException(("missing".equals(result.get("error"))
+                    ? "Cannot locate option with text: " + optionText : "Dropdown has no options")
+                    + "; available: " + result.get("options"));
+        }
+        if (result.get("repopulateMillis") != null) {
+            long millis = Math.round(((Number) result.get("repopulateMillis")).doubleValue());
+            REPOPULATE.computeIfAbsent(DriverManager.getBrowser() + "|" + result.get("parent") + " -> "
+                            + result.get("key"), k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3))
+                    .recordValue(Math.min(Math.max(0, millis), HIGHEST_TRACKABLE_MILLIS));
+        }
+        return new Selection((String) result.get("value"), (String) result.get("text"),
+                ((Number) result.get("count")).intValue());
+    }
+
+    /**
+     * Check if an option may be picked at random
+     * Same rule as the select script, for callers that pick through Selenium's Select
+     * @param value Option value
+     * @param disabled true if the option is disabled
+     * @return true unless the option is disabled or a placeholder
+     */
+    public static boolean isRealOption(String value, boolean disabled) {
+        return !disabled && !PLACEHOLDER_VALUES.contains(value);
+    }
+
+    /**
+     * Pick one of the real options the way the select script does
+     * @param realCount Number of real options
+     * @param fraction Random value from 0 to 1
+     * @return Position among the real options
+     */
+    public static int pickIndex(int realCount, double fraction) {
+        return Math.min((int) Math.floor(fraction * realCount), realCount - 1);
+    }
+
+    private static synchronized void registerReport() {
+        if (!reportRegistered) {
+            reportRegistered = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> writeReport(Paths.get(ConfigReader.getDropdownReportFile())), "dropdown-report-writer"));
+        }
+    }
+
+    /**
+     * Start noting which selects of the current page are opened
+     * Call before opening several dropdowns at once, so their own option loads are not taken for
+     * dependents of the first one selected; the first select() on a page does the same
+     */
+    public void trackOpenedDropdowns() {
+        ((JavascriptExecutor) driver).executeScript(OPEN_TRACKER_SCRIPT);
+    }
+
+    /**
+     * Write how long dependent dropdowns took to repopulate after their parent changed
+     * @param file Destination file
+     */
+    public static void writeReport(Path file) {
+        if (REPOPULATE.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(REPOPULATE).forEach((key, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("dependency", key);
+            row.put("count", histogram.getTotalCount());
+            row.put("p50Millis", histogram.getValueAtPercentile(50.0));
+            row.put("p95Millis", histogram.getValueAtPercentile(95.0));
+            row.put("p99Millis", histogram.getValueAtPercentile(99.0));
+            row.put("maxMillis", histogram.getMaxValue());
+            rows.add(row);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generated", Instant.now().toString());
+        report.put("unit", "milliseconds");
+        report.put("repopulation", rows);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new Json().toJson(report), StandardCharsets.UTF_8);
+            System.out.println("Dropdown report written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write dropdown report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Option the engine selected
+     * @param value Option value
+     * @param text Visible option text
+     * @param optionCount Number of real options the dropdown had
+     */
+    public record Selection(String value, String text, int optionCount) {
+    }
+}
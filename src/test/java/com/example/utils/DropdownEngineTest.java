@@ -0,0 +1,29 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DropdownEngineTest {
+
+    @Test
+    void skipsPlaceholdersAndDisabledOptions() {
+        assertFalse(DropdownEngine.isRealOption("", false));
+        assertFalse(DropdownEngine.isRealOption("0", false));
+        assertFalse(DropdownEngine.isRealOption("-1", false));
+        assertFalse(DropdownEngine.isRealOption("12", true));
+        assertTrue(DropdownEngine.isRealOption("12", false));
+    }
+
+    @Test
+    void picksEveryRealOptionOverTheWholeRange() {
+        assertEquals(0, DropdownEngine.pickIndex(3, 0.0));
+        assertEquals(0, DropdownEngine.pickIndex(3, 0.33));
+        assertEquals(1, DropdownEngine.pickIndex(3, 0.34));
+        assertEquals(2, DropdownEngine.pickIndex(3, 0.99));
+        assertEquals(2, DropdownEngine.pickIndex(3, 1.0));
+        assertEquals(0, DropdownEngine.pickIndex(1, 0.7));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Keeps the last few steps of a scenario in memory: URL, a trimmed copy of the forms and a screenshot
+ * of the failing step (of every step when screenshots are on)
+ * Nothing touches the disk while the scenario passes; when it fails, {@link #flush} writes the
+ * buffered steps so the lead-up to the failure can be inspected.
+ */
+public class FlightRecorder {
+
+    /**
+     * Copies every form (or the body when there is none) with live field values written into
+     * attributes, unselected options and scripts removed, plus toasts and alerts, cut to a size limit
+     */
+    private static final String FORM_DOM_SCRIPT =
+            "var max = arguments[0], parts = [];"
+            + " var roots = document.querySelectorAll('form');"
+            + " if (roots.length === 0 && document.body) { roots = [document.body]; }"
+            + " for (var i = 0; i < roots.length; i++) {"
+            + "   var live = roots[i], copy = live.cloneNode(true);"
+            + "   var from = live.querySelectorAll('input, select, textarea'), to = copy.querySelectorAll('input, select, textarea');"
+            + "   for (var j = 0; j < from.length; j++) {"
+            + "     var s = from[j], d = to[j];"
+            + "     if (!(s.offsetWidth || s.offsetHeight || s.getClientRects().length)) { d.setAttribute('data-hidden', 'true'); }"
+            + "     if (s.tagName === 'SELECT') {"
+            + "       d.setAttribute('data-options', s.options.length);"
+            + "       for (var k = d.options.length - 1; k > 0; k--) {"
+            + "         if (s.options[k].selected) { d.options[k].setAttribute('selected', 'selected'); } else { d.options[k].remove(); }"
+            + "       }"
+            + "     } else if (s.type === 'checkbox' || s.type === 'radio') {"
+            + "       if (s.checked) { d.setAttribute('checked', 'checked'); } else { d.removeAttribute('checked'); }"
+            + "     } else if (s.type === 'password') {"
+            + "       d.setAttribute('value', '');"
+            + "     } else if (s.tagName === 'TEXTAREA') {"
+            + "       d.textContent = s.value;"
+            + "     } else {"
+            + "       d.setAttribute('value', s.value);"
+            + "     }"
+            + "   }"
+            + "   copy.querySelectorAll('script, style, svg, noscript').forEach(function (n) { n.remove(); });"
+            + "   parts.push(copy.outerHTML);"
+            + " }"
+            + " document.querySelectorAll('.toast, .alert').forEach(function (n) { parts.push(n.outerHTML); });"
+            + " var html = parts.join('\\n');"
+            + " return html.length > max ? html.substring(0, max) + '\\n<!-- truncated -->' : html;";
+
+    private final int capacity;
+    private final boolean screenshots;
+    private final int domMaxChars;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    /**
+     * Create a recorder for one scenario
+     * @param capacity Number of most recent steps kept
+     * @param screenshots true to keep a screenshot of every step
+     * @param domMaxChars Maximum length of the recorded form DOM
+     */
+    public FlightRecorder(int capacity, boolean screenshots, int domMaxChars) {
+        this.capacity = Math.max(1, capacity);
+        this.screenshots = screenshots;
+        this.domMaxChars = domMaxChars;
+    }
+
+    /**
+     * Create a recorder with the configured settings
+     * @return FlightRecorder for a new scenario
+     */
+    public static FlightRecorder fromConfig() {
+        return new FlightRecorder(ConfigReader.getFlightRecorderSteps(), ConfigReader.isFlightRecorderScreenshots(),
+                ConfigReader.getFlightRecorderDomMaxChars());
+    }
+
+    /**
+     * Record the state after a step, dropping the oldest step when the buffer is full
+     * @param driver WebDriver instance
+     * @param index Step number within the scenario
+     * @param screenshot Screenshot already taken for this step, or null to take one if needed
+     * @param failed true if the step failed; it gets a screenshot even when screenshots are off
+     */
+    public void record(WebDriver driver, int index, byte[] screenshot, boolean failed) {
+        String url = null;
+        String dom = null;
+        byte[] png = screenshot;
+        try {
+            url = driver.getCurrentUrl();
+            dom = (String) ((JavascriptExecutor) driver).executeScript(FORM_DOM_SCRIPT, domMaxChars);
+            if (png == null && (screenshots || failed)) {
+                png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            }
+        } catch (WebDriverException e) {
+            // A dead or navigating browser must not fail the step; keep what was collected
+        }
+        if (frames.size() == capacity) {
+            frames.removeFirst();
+        }
+        frames.addLast(new Frame(index, StepContext.getCurrentStep(), Instant.now(), url, dom, png));
+    }
+
+    /**
+     * Write the buffered steps to a directory of their own
+     * @param name Scenario name, used in the directory name
+     * @return Directory written to, or null if nothing was recorded
+     */
+    public Path flush(String name) {
+        if (frames.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigReader.getFlightRecorderDirectory(), name);
+        try {
+            Files.createDirectories(directory);
+            List<Map<String, Object>> steps = new ArrayList<>();
+            for (Frame frame : frames) {
+                String prefix = String.format("step-%02d", frame.index());
+                Map<String, Object> step = new LinkedHashMap<>();
+                step.put("index", frame.index());
+                step.put("step", frame.step());
+                step.put("capturedAt", frame.capturedAt().toString());
+                step.put("url", frame.url());
+                if (frame.dom() != null) {
+                    Files.writeString(directory.resolve(prefix + ".html"), frame.dom(), StandardCharsets.UTF_8);
+                    step.put("dom", prefix + ".html");
+                }
+                if (frame.screenshot() != null) {
+                    Files.write(directory.resolve(prefix + ".png"), frame.screenshot());
+                    step.put("screenshot", prefix + ".png");
+                }
+                steps.add(step);
+            }
+            Files.writeString(directory.resolve("steps.json"), new Json().toJson(steps), StandardCharsets.UTF_8);
+            return directory;
+        } catch (IOException e) {
+            System.err.println("Failed to write flight recorder: " + e.getMessage());
+            return null;
+        } finally {
+            frames.clear();
+        }
+    }
+
+    /**
+     * State of the page after one step
+     */
+    private record Frame(int index, String step, Instant capturedAt, String url, String dom, byte[] screenshot) {
+    }
+}
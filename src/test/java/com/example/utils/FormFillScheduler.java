@@ -0,0 +1,118 @@
+package com.example.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Fills a form in dependency order while its dropdowns load in the browser
+ * Dropdowns form a graph (e.g. Zone -> State -> Location). Every dropdown without a parent is
+ * opened first so their options load side by side, then the text fields are filled while they
+ * load. After that the scheduler keeps selecting whichever opened dropdown already has its options,
+ * opening a dropdown's children as soon as it is selected, and only blocks when none is ready.
+ * Dropdowns heading the longest chain of dependents go first, so the next load starts early.
+ * Runs on the test thread: the overlap comes from the browser loading options while the
+ * scheduler issues other commands, not from sharing the WebDriver between threads.
+ */
+public class FormFillScheduler {
+
+    private final Map<String, Dropdown> dropdowns = new LinkedHashMap<>();
+    private final List<Runnable> textFills = new ArrayList<>();
+
+    /**
+     * Add a dropdown; its parent must have been added before it
+     * @param name Dropdown name
+     * @param parent Name of the dropdown whose selection loads this one's options, or null
+     * @param open Starts loading the options and returns the select element
+     * @param select Waits for the options if needed and selects one
+     * @return This scheduler
+     */
+    public FormFillScheduler dropdown(String name, String parent, Supplier<WebElement> open, Runnable select) {
+        if (parent != null && !dropdowns.containsKey(parent)) {
+            throw new IllegalArgumentException("Parent " + parent + " must be added before " + name);
+        }
+        dropdowns.put(name, new Dropdown(name, parent, open, select));
+        return this;
+    }
+
+    /**
+     * Add text input that depends on no dropdown
+     * @param fill Fills the fields
+     * @return This scheduler
+     */
+    public FormFillScheduler text(Runnable fill) {
+        textFills.add(fill);
+        return this;
+    }
+
+    /**
+     * Fill the form
+     * @param readyProbe Tells in one call which of the given select elements have their options loaded
+     */
+    public void run(Function<List<WebElement>, List<Boolean>> readyProbe) {
+        long start = System.nanoTime();
+        // Opened but not yet selected, in the order they were opened
+        Map<String, WebElement> opened = new LinkedHashMap<>();
+        for (Dropdown dropdown : dropdowns.values()) {
+            if (dropdown.parent() == null) {
+                opened.put(dropdown.name(), dropdown.open().get());
+            }
+        }
+        textFills.forEach(Runnable::run);
+
+        int selectedWithoutWaiting = 0;
+        while (!opened.isEmpty()) {
+            List<String> names = new ArrayList<>(opened.keySet());
+            List<Boolean> ready = readyProbe.apply(new ArrayList<>(opened.values()));
+            String next = null;
+            boolean nextReady = false;
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                boolean isReady = Boolean.TRUE.equals(ready.get(i));
+                if (next == null || (isReady && !nextReady)
+                        || (isReady == nextReady && depth(name) > depth(next))) {
+                    next = name;
+                    nextReady = isReady;
+                }
+            }
+            if (nextReady) {
+                selectedWithoutWaiting++;
+            }
+            opened.remove(next);
+            dropdowns.get(next).select().run();
+            for (Dropdown child : dropdowns.values()) {
+                if (next.equals(child.parent())) {
+                    opened.put(child.name(), child.open().get());
+                }
+            }
+        }
+        System.out.println("Scheduled form fill: " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                + " ms, " + dropdowns.size() + " dropdowns (" + selectedWithoutWaiting + " already loaded), "
+                + textFills.size() + " text fill(s)");
+    }
+
+    /**
+     * Length of the longest chain of dependents below a dropdown
+     */
+    private int depth(String name) {
+        int depth = 0;
+        for (Dropdown child : dropdowns.values()) {
+            if (name.equals(child.parent())) {
+                depth = Math.max(depth, depth(child.name()) + 1);
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Dropdown node of the graph
+     */
+    private record Dropdown(String name, String parent, Supplier<WebElement> open, Runnable select) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebElement;
+
+public class FormFillSchedulerTest {
+
+    private final List<String> events = new ArrayList<>();
+    // Dropdowns whose options have loaded
+    private final Set<String> loaded = new HashSet<>();
+
+    @Test
+    void opensRootsAndFillsTextBeforeSelecting() {
+        new FormFillScheduler()
+                .dropdown("CustomerType", null, open("CustomerType"), select("CustomerType"))
+                .dropdown("Zone", null, open("Zone"), select("Zone"))
+                .text(() -> events.add("text"))
+                .run(probe());
+
+        assertEquals(List.of("open CustomerType", "open Zone", "text"), events.subList(0, 3));
+    }
+
+    @Test
+    void opensChildrenOnlyOnceTheirParentIsSelected() {
+        loaded.addAll(List.of("Zone", "State", "Location"));
+        new FormFillScheduler()
+                .dropdown("Zone", null, open("Zone"), select("Zone"))
+                .dropdown("State", "Zone", open("State"), select("State"))
+                .dropdown("Location", "State", open("Location"), select("Location"))
+                .run(probe());
+
+        assertEquals(List.of("open Zone", "select Zone", "open State", "select State", "open Location",
+                "select Location"), events);
+    }
+
+    @Test
+    void waitsForTheLongestChainFirstWhenNothingIsLoaded() {
+        new FormFillScheduler()
+                .dropdown("CustomerType", null, open("CustomerType"), select("CustomerType"))
+                .dropdown("Zone", null, open("Zone"), select("Zone"))
+                .dropdown("State", "Zone", open("State"), select("State"))
+                .dropdown("Location", "State", open("Location"), select("Location"))
+                .dropdown("AddressType", null, open("AddressType"), select("AddressType"))
+                .run(probe());
+
+        // Ties go to the dropdown opened first
+        assertEquals(List.of("select Zone", "select State", "select CustomerType", "select AddressType",
+                "select Location"), selections());
+    }
+
+    @Test
+    void selectsALoadedDropdownBeforeWaitingForAnother() {
+        loaded.add("AddressType");
+        new FormFillScheduler()
+                .dropdown("CustomerType", null, open("CustomerType"), select("CustomerType"))
+                .dropdown("Zone", null, open("Zone"), select("Zone"))
+                .dropdown("State", "Zone", open("State"), select("State"))
+                .dropdown("AddressType", null, open("AddressType"), select("AddressType"))
+                .run(probe());
+
+        assertEquals(List.of("select AddressType", "select Zone", "select CustomerType", "select State"),
+                selections());
+    }
+
+    @Test
+    void rejectsAChildAddedBeforeItsParent() {
+        FormFillScheduler scheduler = new FormFillScheduler();
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduler.dropdown("State", "Zone", open("State"), select("State")));
+    }
+
+    private Supplier<WebElement> open(String name) {
+        return () -> {
+            events.add("open " + name);
+            return element(name);
+        };
+    }
+
+    private Runnable select(String name) {
+        return () -> events.add("select " + name);
+    }
+
+    private Function<List<WebElement>, List<Boolean>> probe() {
+        return elements -> elements.stream().map(element -> loaded.contains(element.toString())).toList();
+    }
+
+    private List<String> selections() {
+        return events.stream().filter(event -> event.startsWith("select ")).toList();
+    }
+
+    /**
+     * Select element stand-in that only knows its name
+     */
+    private static WebElement element(String name) {
+        return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(), new Class<?>[] {WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return name;
+                        case "hashCode":
+                            return name.hashCode();
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
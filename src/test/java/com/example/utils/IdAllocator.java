@@ -0,0 +1,283 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out customer numbers, Aadhaar numbers and mobile numbers that are unique across
+ * threads, forked JVMs and machines while keeping the formats the Add Customer form accepts
+ * The value space of every format is split between 1024 workers. A worker is one JVM:
+ * the node id (id.node, one per machine, 0-63) plus a process slot claimed with a file lock
+ * (16 per machine). The allocator is only used with an id.node, or against the local stub; two
+ * machines with the same node would issue the same values. Within a worker, threads lease blocks from a per-format
+ * counter, so the hot path is a thread-local increment. The counter starts from the high-water
+ * mark the previous JVM in the same slot persisted, so restarts never reissue a value while the
+ * slot file is kept, and never below the clock, which crosses each worker's range in
+ * {@link #CLOCK_HORIZON_MILLIS}. A worker that used up its range fails instead of wrapping around.
+ */
+public class IdAllocator {
+
+    /**
+     * Field format with the size of its value space
+     * The clock advances through a worker's range in CLOCK_HORIZON_MILLIS, so slower for small spaces
+     */
+    public enum Format {
+        // CUST + 8 base-36 characters
+        CUSTOMER_NUMBER(2_821_109_907_456L),
+        // 2-9 followed by 11 digits
+        AADHAAR_NUMBER(800_000_000_000L),
+        // 7-9 followed by 9 digits
+        MOBILE_NUMBER(3_000_000_000L);
+
+        private final long perWorker;
+        private final long millisPerId;
+
+        Format(long space) {
+            this.perWorker = space / WORKERS;
+            this.millisPerId = CLOCK_HORIZON_MILLIS / perWorker;
+        }
+
+        /**
+         * Get the number of values each worker may issue
+         * @return Size of one worker's range
+         */
+        public long perWorker() {
+            return perWorker;
+        }
+
+        /**
+         * Encode a position in the format's value space
+         * @param value Position between 0 and the size of the space
+         * @return Value in the format the form accepts
+         */
+        String encode(long value) {
+            switch (this) {
+                case CUSTOMER_NUMBER:
+                    return "CUST" + pad(Long.toString(value, 36).toUpperCase(), 8);
+                case AADHAAR_NUMBER:
+                    return (char) ('2' + value / 100_000_000_000L) + pad(Long.toString(value % 100_000_000_000L), 11);
+                default:
+                    return (char) ('7' + value / 1_000_000_000L) + pad(Long.toString(value % 1_000_000_000L), 9);
+            }
+        }
+    }
+
+    private static final int NODES = 64;
+    private static final int SLOTS_PER_NODE = 16;
+    private static final int WORKERS = NODES * SLOTS_PER_NODE;
+    private static final int BLOCK_SIZE = 64;
+    // 2025-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1_735_689_600_000L;
+    // The clock start reaches the end of every range on 2035-01-01
+    private static final long CLOCK_HORIZON_MILLIS = 3_652L * 24 * 60 * 60 * 1000;
+
+    private static volatile IdAllocator instance;
+
+    private final int workerId;
+    private final FileChannel slotChannel;
+    private final Map<Format, AtomicLong> counters = new EnumMap<>(Format.class);
+    private final Properties highWaterMarks = new Properties();
+    private final ThreadLocal<long[][]> blocks = ThreadLocal.withInitial(() -> new long[Format.values().length][2]);
+
+    private IdAllocator(int node, FileChannel slotChannel, int slot) throws IOException {
+        this(node * SLOTS_PER_NODE + slot, slotChannel, System.currentTimeMillis());
+        System.out.println("ID allocator worker " + workerId + " (node " + node + ", slot " + slot + ")");
+    }
+
+    /**
+     * Create the allocator of one worker
+     * @param workerId Worker id between 0 and 1023
+     * @param slotChannel Locked slot file holding the high-water marks, or null to keep them in memory
+     * @param nowMillis Current time, where the counters start at the latest
+     */
+    IdAllocator(int workerId, FileChannel slotChannel, long nowMillis) throws IOException {
+        this.workerId = workerId;
+        this.slotChannel = slotChannel;
+
+        if (slotChannel != null) {
+            ByteBuffer content = ByteBuffer.allocate((int) slotChannel.size());
+            slotChannel.read(content, 0);
+            highWaterMarks.load(new StringReader(new String(content.array(), StandardCharsets.UTF_8)));
+        }
+
+        long elapsedMillis = Math.max(0, nowMillis - EPOCH_MILLIS);
+        for (Format format : Format.values()) {
+            long fromClock = elapsedMillis / format.millisPerId;
+            long persisted = Long.parseLong(highWaterMarks.getProperty(format.name(), "0"));
+            if (persisted > format.perWorker) {
+                // Left by the earlier allocator that wrapped around; values it issued are in the used-value registry
+                System.err.println("Ignoring " + format + " high-water mark " + persisted + " above the worker range of "
+                        + format.perWorker);
+                persisted = 0;
+            }
+            counters.put(format, new AtomicLong(Math.max(fromClock, persisted)));
+        }
+    }
+
+    /**
+     * Get the allocator of this JVM, claiming a worker slot on first use
+     * @return Shared IdAllocator
+     */
+    public static IdAllocator getInstance() {
+        if (instance == null) {
+            synchronized (IdAllocator.class) {
+                if (instance == null) {
+                    instance = claimWorker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Allocate a customer number (CUST + 8 alphanumerics)
+     * @return Unique customer number
+     */
+    public static String nextCustomerNumber() {
+        return getInstance().next(Format.CUSTOMER_NUMBER);
+    }
+
+    /**
+     * Allocate an Aadhaar number (12 digits starting with 2-9)
+     * @return Unique Aadhaar number
+     */
+    public static String nextAadhaarNumber() {
+        return getInstance().next(Format.AADHAAR_NUMBER);
+    }
+
+    /**
+     * Allocate a mobile number (10 digits starting with 7-9)
+     * @return Unique mobile number
+     */
+    public static String nextMobileNumber() {
+        return getInstance().next(Format.MOBILE_NUMBER);
+    }
+
+    /**
+     * Get worker id of this JVM
+     * @return Worker id between 0 and 1023
+     */
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Allocate the next value of a format
+     * @param format Field format
+     * @return Encoded unique value
+     * @throws IllegalStateException if this worker has issued every value of its range
+     */
+    public String next(Format format) {
+        long[] block = blocks.get()[format.ordinal()];
+        if (block[0] >= block[1]) {
+            long start = counters.get(format).getAndAdd(BLOCK_SIZE);
+            if (start >= format.perWorker) {
+                throw new IllegalStateException("ID allocator worker " + workerId + " has used up its " + format
+                        + " range of " + format.perWorker + " values; move this machine to an unused id.node");
+            }
+            block[0] = start;
+            block[1] = Math.min(start + BLOCK_SIZE, format.perWorker);
+            persist(format, block[1]);
+        }
+        return format.encode(workerId * format.perWorker + block[0]++);
+    }
+
+    /**
+     * Record the end of the latest leased block in the slot file
+     * so the next JVM in this slot starts above it
+     */
+    private synchronized void persist(Format format, long highWaterMark) {
+        long current = Long.parseLong(highWaterMarks.getProperty(format.name(), "0"));
+        if (highWaterMark <= current) {
+            return;
+        }
+        highWaterMarks.setProperty(format.name(), Long.toString(highWaterMark));
+        if (slotChannel == null) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        for (Format f : Format.values()) {
+            content.append(f.name()).append('=').append(highWaterMarks.getProperty(f.name(), "0")).append('\n');
+        }
+        try {
+            slotChannel.truncate(0);
+            slotChannel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)), 0);
+        } catch (IOException e) {
+            System.err.println("Failed to persist ID allocator state: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Claim the first free process slot of this machine
+     * The lock is held until the JVM exits, so parallel forks always get different slots
+     */
+    private static IdAllocator claimWorker() {
+        int node = resolveNode();
+        Path directory = Paths.get(ConfigReader.getIdStateDirectory());
+        try {
+            Files.createDirectories(directory);
+            for (int slot = 0; slot < SLOTS_PER_NODE; slot++) {
+                FileChannel channel = FileChannel.open(directory.resolve("node-" + node + "-slot-" + slot + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock lock;
+                try {
+                    lock = channel.tryLock();
+                } catch (OverlappingFileLockException e) {
+                    lock = null;
+                }
+                if (lock != null) {
+                    return new IdAllocator(node, channel, slot);
+                }
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to claim ID allocator slot in " + directory, e);
+        }
+        throw new IllegalStateException("All " + SLOTS_PER_NODE + " ID allocator slots of node " + node
+                + " are in use in " + directory);
+    }
+
+    /**
+     * Use the configured node id; only runs against the local stub may leave it unset
+     * A node derived from the host name would let two machines share a node and issue the same values
+     */
+    private static int resolveNode() {
+        String configured = ConfigReader.getIdNode();
+        if (configured.isEmpty()) {
+            if (ConfigReader.isStubProfile()) {
+                return 0;
+            }
+            throw new IllegalStateException("id.node is not set: give every machine that runs against "
+                    + ConfigReader.getAppUrl() + " its own id.node between 0 and " + (NODES - 1)
+                    + " (e.g. -Did.node=3), or disable the allocator with -Did.allocator.enabled=false");
+        }
+        int node;
+        try {
+            node = Integer.parseInt(configured);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id.node must be a number between 0 and " + (NODES - 1) + ": "
+                    + configured, e);
+        }
+        if (node < 0 || node >= NODES) {
+            throw new IllegalArgumentException("id.node must be between 0 and " + (NODES - 1) + ": " + node);
+        }
+        return node;
+    }
+
+    private static String pad(String digits, int length) {
+        return "0".repeat(Math.max(0, length - digits.length())) + digits;
+    }
+}
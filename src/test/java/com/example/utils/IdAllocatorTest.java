@@ -0,0 +1,157 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.utils.IdAllocator.Format;
+
+public class IdAllocatorTest {
+
+    // 2025-01-01T00:00:00Z, where every counter starts from the clock at 0
+    private static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void restore() {
+        System.clearProperty("app.profile");
+        System.clearProperty("id.node");
+        System.clearProperty("id.allocator.enabled");
+        System.clearProperty("used.registry.enabled");
+    }
+
+    @Test
+    void staysOffAgainstTheLiveAppWithoutANode() {
+        System.setProperty("app.profile", "live");
+        System.setProperty("id.node", "");
+        System.setProperty("id.allocator.enabled", "true");
+        System.setProperty("used.registry.enabled", "false");
+
+        assertFalse(ConfigReader.isIdAllocatorEnabled());
+        // The first generated customer must not need a node
+        assertTrue(RandomDataGenerator.generateCustomerNumber().matches("CUST[0-9A-Z]{8}"));
+        assertTrue(RandomDataGenerator.generateMobileNumber().matches("[7-9][0-9]{9}"));
+        assertTrue(RandomDataGenerator.generateAadhaarNumber().matches("[2-9][0-9]{11}"));
+    }
+
+    @Test
+    void isUsedWithANodeOrAgainstTheStub() {
+        System.setProperty("id.allocator.enabled", "true");
+        System.setProperty("app.profile", "live");
+        System.setProperty("id.node", "3");
+        assertTrue(ConfigReader.isIdAllocatorEnabled());
+
+        System.setProperty("app.profile", "stub");
+        System.setProperty("id.node", "");
+        assertTrue(ConfigReader.isIdAllocatorEnabled());
+
+        System.setProperty("id.allocator.enabled", "false");
+        assertFalse(ConfigReader.isIdAllocatorEnabled());
+    }
+
+    @Test
+    void encodesTheFormatsTheFormAccepts() {
+        assertEquals("CUST00000000", Format.CUSTOMER_NUMBER.encode(0));
+        assertEquals("CUST0000000Z", Format.CUSTOMER_NUMBER.encode(35));
+        assertEquals("CUSTZZZZZZZZ", Format.CUSTOMER_NUMBER.encode(2_821_109_907_455L));
+        assertEquals("200000000000", Format.AADHAAR_NUMBER.encode(0));
+        assertEquals("999999999999", Format.AADHAAR_NUMBER.encode(799_999_999_999L));
+        assertEquals("7000000000", Format.MOBILE_NUMBER.encode(0));
+        assertEquals("8000000000", Format.MOBILE_NUMBER.encode(1_000_000_000L));
+        assertEquals("9999999999", Format.MOBILE_NUMBER.encode(2_999_999_999L));
+    }
+
+    @Test
+    void issuesConsecutiveValuesFromTheWorkersRange() throws IOException {
+        IdAllocator allocator = new IdAllocator(5, null, EPOCH_MILLIS);
+        long first = 5 * Format.MOBILE_NUMBER.perWorker();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(Format.MOBILE_NUMBER.encode(first + i), allocator.next(Format.MOBILE_NUMBER));
+        }
+    }
+
+    @Test
+    void leasesDisjointBlocksToThreads() throws Exception {
+        IdAllocator allocator = new IdAllocator(0, null, EPOCH_MILLIS);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    List<String> values = new ArrayList<>();
+                    for (int i = 0; i < 1_000; i++) {
+                        values.add(allocator.next(Format.CUSTOMER_NUMBER));
+                    }
+                    return values;
+                }));
+            }
+            Set<String> unique = new HashSet<>();
+            for (Future<List<String>> result : results) {
+                unique.addAll(result.get());
+            }
+            assertEquals(4_000, unique.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void restartsAboveThePersistedHighWaterMark() throws IOException {
+        Path slot = directory.resolve("slot.lock");
+        String last;
+        try (FileChannel channel = open(slot)) {
+            IdAllocator allocator = new IdAllocator(1, channel, EPOCH_MILLIS);
+            allocator.next(Format.AADHAAR_NUMBER);
+            last = allocator.next(Format.AADHAAR_NUMBER);
+        }
+        try (FileChannel channel = open(slot)) {
+            IdAllocator restarted = new IdAllocator(1, channel, EPOCH_MILLIS);
+            String next = restarted.next(Format.AADHAAR_NUMBER);
+            assertTrue(next.compareTo(last) > 0, next + " must be above " + last);
+        }
+    }
+
+    @Test
+    void failsOnceTheRangeIsUsedUp() throws IOException {
+        long perWorker = Format.MOBILE_NUMBER.perWorker();
+        Path slot = directory.resolve("slot.lock");
+        Files.writeString(slot, "MOBILE_NUMBER=" + (perWorker - 3) + "\n");
+        try (FileChannel channel = open(slot)) {
+            IdAllocator allocator = new IdAllocator(2, channel, EPOCH_MILLIS);
+            allocator.next(Format.MOBILE_NUMBER);
+            allocator.next(Format.MOBILE_NUMBER);
+            assertEquals(Format.MOBILE_NUMBER.encode(3 * perWorker - 1), allocator.next(Format.MOBILE_NUMBER));
+            assertThrows(IllegalStateException.class, () -> allocator.next(Format.MOBILE_NUMBER));
+        }
+    }
+
+    @Test
+    void failsWhenTheClockPassedTheEndOfTheRange() throws IOException {
+        IdAllocator allocator = new IdAllocator(0, null, EPOCH_MILLIS + 3_653L * 24 * 60 * 60 * 1000);
+        assertThrows(IllegalStateException.class, () -> allocator.next(Format.CUSTOMER_NUMBER));
+    }
+
+    private static FileChannel open(Path slot) throws IOException {
+        return FileChannel.open(slot, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+}
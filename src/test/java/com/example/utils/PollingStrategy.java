@@ -0,0 +1,104 @@
+package com.example.utils;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how long {@link WaitHelper} pauses between two checks of a wait condition
+ * Selected with wait.polling.strategy: fixed, backoff or jitter.
+ */
+public interface PollingStrategy {
+
+    /**
+     * Get the pause before the next condition check
+     * @param poll Number of checks done so far, starting at 1
+     * @param maxIntervalMillis Longest pause allowed, from the wait budget
+     * @return Pause in milliseconds
+     */
+    long nextDelayMillis(int poll, long maxIntervalMillis);
+
+    /**
+     * Get the name used in reports and timeout messages
+     * @return Strategy name
+     */
+    String name();
+
+    /**
+     * Create the strategy configured by wait.polling.*
+     * @return PollingStrategy
+     */
+    static PollingStrategy fromConfig() {
+        String strategy = ConfigReader.getWaitPollingStrategy().trim().toLowerCase(Locale.ROOT);
+        Backoff backoff = new Backoff(ConfigReader.getWaitPollingInitialMillis(),
+                ConfigReader.getWaitPollingMultiplier());
+        switch (strategy) {
+            case "fixed":
+                return new Fixed();
+            case "jitter":
+                return new Jittered(backoff, ConfigReader.getWaitPollingJitter());
+            case "backoff":
+                return backoff;
+            default:
+                System.err.println("Unknown wait.polling.strategy=" + strategy + ", using backoff");
+                return backoff;
+        }
+    }
+
+    /**
+     * Always the full interval of the wait budget, like a plain WebDriverWait
+     */
+    record Fixed() implements PollingStrategy {
+
+        @Override
+        public long nextDelayMillis(int poll, long maxIntervalMillis) {
+            return maxIntervalMillis;
+        }
+
+        @Override
+        public String name() {
+            return "fixed";
+        }
+    }
+
+    /**
+     * Starts with a short pause and multiplies it after every check, up to the budget interval
+     * A condition met within a few milliseconds is seen within a few milliseconds,
+     * while a slow one is not checked more often than with fixed polling for long
+     * @param initialMillis Pause after the first check
+     * @param multiplier Growth factor of the pause
+     */
+    record Backoff(long initialMillis, double multiplier) implements PollingStrategy {
+
+        @Override
+        public long nextDelayMillis(int poll, long maxIntervalMillis) {
+            double delay = initialMillis * Math.pow(Math.max(1.0, multiplier), poll - 1);
+            return Math.max(1, Math.min(maxIntervalMillis, (long) delay));
+        }
+
+        @Override
+        public String name() {
+            return "backoff";
+        }
+    }
+
+    /**
+     * Randomizes another strategy's pause by up to +/- jitter of it
+     * Keeps many concurrent sessions from polling the grid in lockstep
+     * @param base Strategy whose pause is randomized
+     * @param jitter Fraction of the pause, between 0 and 1
+     */
+    record Jittered(PollingStrategy base, double jitter) implements PollingStrategy {
+
+        @Override
+        public long nextDelayMillis(int poll, long maxIntervalMillis) {
+            long delay = base.nextDelayMillis(poll, maxIntervalMillis);
+            double factor = 1.0 + jitter * (2.0 * ThreadLocalRandom.current().nextDouble() - 1.0);
+            return Math.max(1, Math.round(delay * factor));
+        }
+
+        @Override
+        public String name() {
+            return base.name() + "+jitter";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class PollingStrategyTest {
+
+    @Test
+    void fixedAlwaysWaitsTheFullInterval() {
+        PollingStrategy fixed = new PollingStrategy.Fixed();
+        assertEquals(500, fixed.nextDelayMillis(1, 500));
+        assertEquals(500, fixed.nextDelayMillis(50, 500));
+    }
+
+    @Test
+    void backoffGrowsFromTheInitialPauseUpToTheInterval() {
+        PollingStrategy backoff = new PollingStrategy.Backoff(10, 2.0);
+        assertEquals(10, backoff.nextDelayMillis(1, 500));
+        assertEquals(20, backoff.nextDelayMillis(2, 500));
+        assertEquals(160, backoff.nextDelayMillis(5, 500));
+        assertEquals(500, backoff.nextDelayMillis(10, 500));
+        assertEquals(500, backoff.nextDelayMillis(1_000, 500));
+    }
+
+    @Test
+    void backoffNeverPausesLessThanOneMillisecondOrShrinks() {
+        assertEquals(1, new PollingStrategy.Backoff(0, 2.0).nextDelayMillis(3, 500));
+        assertEquals(1, new PollingStrategy.Backoff(10, 2.0).nextDelayMillis(1, 0));
+        // A multiplier below 1 is treated as 1
+        assertEquals(10, new PollingStrategy.Backoff(10, 0.5).nextDelayMillis(4, 500));
+    }
+
+    @Test
+    void jitterStaysWithinItsFractionOfTheBasePause() {
+        PollingStrategy jittered = new PollingStrategy.Jittered(new PollingStrategy.Fixed(), 0.2);
+        for (int i = 0; i < 10_000; i++) {
+            long delay = jittered.nextDelayMillis(1, 1_000);
+            assertTrue(delay >= 800 && delay <= 1_200, "delay " + delay);
+        }
+    }
+
+    @Test
+    void jitterNeverPausesLessThanOneMillisecond() {
+        PollingStrategy jittered = new PollingStrategy.Jittered(new PollingStrategy.Backoff(1, 1.0), 1.0);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(jittered.nextDelayMillis(1, 500) >= 1);
+        }
+    }
+
+    @Test
+    void namesTheStrategy() {
+        assertEquals("backoff+jitter",
+                new PollingStrategy.Jittered(new PollingStrategy.Backoff(10, 2.0), 0.2).name());
+    }
+}
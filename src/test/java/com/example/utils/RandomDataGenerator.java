@@ -1,19 +1,49 @@
 package com.example.utils;
 
-import java.util.Random;
-
-import org.apache.commons.lang3.RandomStringUtils;
-
-import com.github.javafaker.Faker;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
 
 /**
  * Utility class for generating random test data
  * Used to create realistic and varied test data for form fields
+ * Every thread draws from its own SplittableRandom and words come from {@link DataDictionary},
+ * so parallel scenarios and bulk generation never contend on a shared Random or Faker.
+ * Set data.seed to make each scenario's data reproducible. Values the application has to keep
+ * unique are checked against the {@link UsedValueRegistry}.
  */
 public class RandomDataGenerator {
 
-    private static final Faker faker = new Faker();
-    private static final Random random = new Random();
+    private static final char[] DIGITS = "0123456789".toCharArray();
+    private static final char[] LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789"
+            .toCharArray();
+    private static final int MAX_UNUSED_ATTEMPTS = 20;
+
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+
+    /**
+     * Reseed the current thread's generator
+     * @param seed Seed value
+     */
+    public static void seed(long seed) {
+        RANDOM.set(new SplittableRandom(seed));
+    }
+
+    /**
+     * Reseed the current thread's generator for a scenario when data.seed is configured
+     * The seed combines data.seed with the scenario's location, so a scenario gets the same data
+     * on every run whichever worker thread it lands on
+     * @param scenarioLocation Feature path and line of the scenario, the same on every run and machine
+     */
+    public static void seedForScenario(String scenarioLocation) {
+        Long baseSeed = ConfigReader.getDataSeed();
+        if (baseSeed == null) {
+            return;
+        }
+        seed(mix(baseSeed ^ hash(scenarioLocation)));
+    }
 
     /**
      * Generate random alphanumeric string
@@ -21,7 +51,7 @@ public class RandomDataGenerator {
      * @return Random alphanumeric string
      */
     public static String generateAlphanumeric(int length) {
-        return RandomStringUtils.randomAlphanumeric(length);
+        return randomChars(ALPHANUMERIC, length, RANDOM.get());
     }
 
     /**
@@ -30,7 +60,7 @@ public class RandomDataGenerator {
      * @return Random alphabetic string
      */
     public static String generateAlphabetic(int length) {
-        return RandomStringUtils.randomAlphabetic(length);
+        return randomChars(LETTERS, length, RANDOM.get());
     }
 
     /**
@@ -39,15 +69,19 @@ public class RandomDataGenerator {
      * @return Random numeric string
      */
     public static String generateNumeric(int length) {
-        return RandomStringUtils.randomNumeric(length);
+        return randomChars(DIGITS, length, RANDOM.get());
     }
 
     /**
-     * Generate random customer number (alphanumeric, 8 characters)
-     * @return Random customer number
+     * Generate customer number (CUST + 8 alphanumerics)
+     * Unique across workers when the ID allocator is enabled
+     * @return Customer number
      */
     public static String generateCustomerNumber() {
-        return "CUST" + generateAlphanumeric(8).toUpperCase();
+        if (ConfigReader.isIdAllocatorEnabled()) {
+            return unused("customer", IdAllocator::nextCustomerNumber);
+        }
+        return unused("customer", () -> customerNumber(RANDOM.get()));
     }
 
     /**
@@ -55,7 +89,7 @@ public class RandomDataGenerator {
      * @return Random full name
      */
     public static String generateCustomerName() {
-        return faker.name().fullName();
+        return customerName(RANDOM.get());
     }
 
     /**
@@ -63,7 +97,7 @@ public class RandomDataGenerator {
      * @return Random male name
      */
     public static String generateFatherName() {
-        return faker.name().firstName() + " " + faker.name().lastName();
+        return fatherName(RANDOM.get());
     }
 
     /**
@@ -75,12 +109,15 @@ public class RandomDataGenerator {
     }
 
     /**
-     * Generate random mobile number (10 digits starting with 7-9)
-     * @return Random 10-digit mobile number
+     * Generate mobile number (10 digits starting with 7-9)
+     * Unique across workers when the ID allocator is enabled
+     * @return 10-digit mobile number
      */
     public static String generateMobileNumber() {
-        String firstDigit = String.valueOf(random.nextInt(3) + 7); // 7, 8, or 9
-        return firstDigit + generateNumeric(9);
+        if (ConfigReader.isIdAllocatorEnabled()) {
+            return unused("mobile", IdAllocator::nextMobileNumber);
+        }
+        return unused("mobile", () -> mobileNumber(RANDOM.get()));
     }
 
     /**
@@ -88,16 +125,19 @@ public class RandomDataGenerator {
      * @return Random email address
      */
     public static String generateEmail() {
-        return faker.internet().emailAddress();
+        return unused("email", () -> email(RANDOM.get()));
     }
 
     /**
-     * Generate random Aadhaar number (12 digits starting with 2-9)
-     * @return Random 12-digit Aadhaar number
+     * Generate Aadhaar number (12 digits starting with 2-9)
+     * Unique across workers when the ID allocator is enabled
+     * @return 12-digit Aadhaar number
      */
     public static String generateAadhaarNumber() {
-        String firstDigit = String.valueOf(random.nextInt(8) + 2); // 2 to 9
-        return firstDigit + generateNumeric(11);
+        if (ConfigReader.isIdAllocatorEnabled()) {
+            return unused("aadhaar", IdAllocator::nextAadhaarNumber);
+        }
+        return unused("aadhaar", () -> aadhaarNumber(RANDOM.get()));
     }
 
     /**
@@ -105,7 +145,7 @@ public class RandomDataGenerator {
      * @return Random street address
      */
     public static String generateAddress() {
-        return faker.address().streetAddress();
+        return address(RANDOM.get());
     }
 
     /**
@@ -113,7 +153,8 @@ public class RandomDataGenerator {
      * @return Random secondary address
      */
     public static String generateSecondaryAddress() {
-        return faker.address().secondaryAddress();
+        SplittableRandom random = RANDOM.get();
+        return digitsFor(DataDictionary.secondaryAddressPattern(random), random);
     }
 
     /**
@@ -121,7 +162,7 @@ public class RandomDataGenerator {
      * @return Random sentence
      */
     public static String generateRemarks() {
-        return faker.lorem().sentence(10);
+        return sentence(10, RANDOM.get());
     }
 
     /**
@@ -130,7 +171,7 @@ public class RandomDataGenerator {
      * @return Random text
      */
     public static String generateRandomText(int wordCount) {
-        return faker.lorem().sentence(wordCount);
+        return sentence(wordCount, RANDOM.get());
     }
 
     /**
@@ -139,7 +180,15 @@ public class RandomDataGenerator {
      * @return Random index (1-based)
      */
     public static int generateRandomDropdownIndex(int maxOptions) {
-        return random.nextInt(maxOptions) + 1;
+        return RANDOM.get().nextInt(maxOptions) + 1;
+    }
+
+    /**
+     * Generate random fraction, e.g. to pick a dropdown option inside the browser
+     * @return Random value from 0 (inclusive) to 1 (exclusive)
+     */
+    public static double generateRandomFraction() {
+        return RANDOM.get().nextDouble();
     }
 
     /**
@@ -147,6 +196,169 @@ public class RandomDataGenerator {
      * @return Random boolean
      */
     public static boolean generateRandomBoolean() {
-        return random.nextBoolean();
+        return RANDOM.get().nextBoolean();
+    }
+
+    /**
+     * Generate all text field values of one customer
+     * Customer number, email, Aadhaar and mobile number follow the ID allocator and registry settings
+     * @return Random customer record
+     */
+    public static CustomerRecord generateCustomerRecord() {
+        CustomerRecord record = customerRecord(RANDOM.get());
+        return new CustomerRecord(generateCustomerNumber(), record.customerName(), record.fatherName(),
+                record.phoneNumber(), generateEmail(), generateMobileNumber(), generateAadhaarNumber(),
+                record.address(), record.secondaryAddress(), record.remarks());
+    }
+
+    /**
+     * Complete a partial customer record, generating only the text fields it leaves empty
+     * Customer number, email, Aadhaar and mobile number are only allocated and registered when
+     * the record lacks them, so values a feed supplies cost no allocator or registry space
+     * @param record Partial record, e.g. a feed row
+     * @return Record with every text field set; dropdowns are kept as they are
+     */
+    public static CustomerRecord completeCustomerRecord(CustomerRecord record) {
+        return new CustomerRecord(
+                orGenerate(record.customerNumber(), RandomDataGenerator::generateCustomerNumber),
+                orGenerate(record.customerName(), RandomDataGenerator::generateCustomerName),
+                orGenerate(record.fatherName(), RandomDataGenerator::generateFatherName),
+                orGenerate(record.phoneNumber(), RandomDataGenerator::generatePhoneNumber),
+                orGenerate(record.email(), RandomDataGenerator::generateEmail),
+                orGenerate(record.mobileNumber(), RandomDataGenerator::generateMobileNumber),
+                orGenerate(record.aadhaarNumber(), RandomDataGenerator::generateAadhaarNumber),
+                orGenerate(record.address(), RandomDataGenerator::generateAddress),
+                orGenerate(record.secondaryAddress(), RandomDataGenerator::generateSecondaryAddress),
+                orGenerate(record.remarks(), RandomDataGenerator::generateRemarks),
+                record.customerType(), record.industry(), record.segment(), record.businessUnit(),
+                record.zone(), record.state(), record.location(), record.addressType());
+    }
+
+    private static String orGenerate(String value, Supplier<String> generator) {
+        return value != null ? value : generator.get();
+    }
+
+    /**
+     * Draw values until one has not been used against this environment and record it
+     * The value is recorded when it is drawn, not after Save: recording claims it, so parallel
+     * workers never draw the same one, and a value of a scenario that fails before Save is never
+     * drawn again either. Fails after a few attempts rather than returning a used value.
+     * @throws IllegalStateException if every attempt drew a value that was already used
+     */
+    private static String unused(String namespace, Supplier<String> generator) {
+        if (!ConfigReader.isUsedRegistryEnabled()) {
+            return generator.get();
+        }
+        UsedValueRegistry registry = UsedValueRegistry.getInstance();
+        for (int attempt = 1; attempt <= MAX_UNUSED_ATTEMPTS; attempt++) {
+            String value = generator.get();
+            if (registry.add(namespace, value)) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("No unused " + namespace + " value after " + MAX_UNUSED_ATTEMPTS
+                + " attempts; the format is nearly exhausted for this environment (used-value registry holds "
+                + registry.size() + " values)");
+    }
+
+    private static CustomerRecord customerRecord(SplittableRandom random) {
+        return new CustomerRecord(
+                customerNumber(random),
+                customerName(random),
+                fatherName(random),
+                randomChars(DIGITS, 10, random),
+                email(random),
+                mobileNumber(random),
+                aadhaarNumber(random),
+                address(random),
+                digitsFor(DataDictionary.secondaryAddressPattern(random), random),
+                sentence(10, random));
+    }
+
+    private static String customerNumber(SplittableRandom random) {
+        return "CUST" + randomChars(ALPHANUMERIC, 8, random).toUpperCase();
+    }
+
+    private static String customerName(SplittableRandom random) {
+        return DataDictionary.firstName(random) + " " + DataDictionary.lastName(random);
+    }
+
+    private static String fatherName(SplittableRandom random) {
+        return DataDictionary.maleFirstName(random) + " " + DataDictionary.lastName(random);
+    }
+
+    private static String mobileNumber(SplittableRandom random) {
+        return (char) ('7' + random.nextInt(3)) + randomChars(DIGITS, 9, random); // 7, 8, or 9
+    }
+
+    private static String aadhaarNumber(SplittableRandom random) {
+        return (char) ('2' + random.nextInt(8)) + randomChars(DIGITS, 11, random); // 2 to 9
+    }
+
+    private static String email(SplittableRandom random) {
+        String local = DataDictionary.firstName(random) + "." + DataDictionary.lastName(random);
+        return local.toLowerCase(Locale.ROOT).replaceAll("[^a-z.]", "") + random.nextInt(1000) + "@"
+                + DataDictionary.emailDomain(random);
+    }
+
+    private static String address(SplittableRandom random) {
+        String street = random.nextBoolean() ? DataDictionary.firstName(random) : DataDictionary.lastName(random);
+        return digitsFor(DataDictionary.buildingNumberPattern(random), random) + " " + street + " "
+                + DataDictionary.streetSuffix(random);
+    }
+
+    private static String sentence(int wordCount, SplittableRandom random) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            String word = DataDictionary.loremWord(random);
+            if (i == 0) {
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sentence.append(' ').append(word);
+            }
+        }
+        return sentence.append('.').toString();
+    }
+
+    /**
+     * Replace every # in a Faker pattern with a random digit
+     */
+    private static String digitsFor(String pattern, SplittableRandom random) {
+        char[] chars = pattern.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] == '#') {
+                chars[i] = DIGITS[random.nextInt(DIGITS.length)];
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String randomChars(char[] alphabet, int length, SplittableRandom random) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Stafford variant 13 finaliser; neighbouring seeds would otherwise give overlapping sequences
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 64-bit FNV-1a hash, spreads scenario ids over the whole seed range
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
     }
 }
@@ -0,0 +1,103 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RandomDataGeneratorTest {
+
+    private static final String SCENARIO = "features/AddCustomer.feature:9";
+
+    @BeforeEach
+    void configure() {
+        // Only the seeded generator decides the values
+        System.setProperty("id.allocator.enabled", "false");
+        System.setProperty("used.registry.enabled", "false");
+    }
+
+    @AfterEach
+    void restore() {
+        System.clearProperty("id.allocator.enabled");
+        System.clearProperty("used.registry.enabled");
+        System.clearProperty("data.seed");
+    }
+
+    @Test
+    void sameSeedGivesTheSameRecords() {
+        RandomDataGenerator.seed(42);
+        List<CustomerRecord> first = records(3);
+        RandomDataGenerator.seed(42);
+        assertEquals(first, records(3));
+    }
+
+    @Test
+    void dataSeedReproducesAScenarioAndSeparatesScenarios() {
+        System.setProperty("data.seed", "7");
+        RandomDataGenerator.seedForScenario(SCENARIO);
+        CustomerRecord first = RandomDataGenerator.generateCustomerRecord();
+        RandomDataGenerator.seedForScenario(SCENARIO);
+        assertEquals(first, RandomDataGenerator.generateCustomerRecord());
+
+        RandomDataGenerator.seedForScenario("features/AddCustomer.feature:33");
+        assertNotEquals(first, RandomDataGenerator.generateCustomerRecord());
+
+        System.setProperty("data.seed", "8");
+        RandomDataGenerator.seedForScenario(SCENARIO);
+        assertNotEquals(first, RandomDataGenerator.generateCustomerRecord());
+    }
+
+    @Test
+    void withoutDataSeedTheGeneratorIsLeftAlone() {
+        RandomDataGenerator.seed(1);
+        List<CustomerRecord> expected = records(2);
+
+        RandomDataGenerator.seed(1);
+        CustomerRecord first = RandomDataGenerator.generateCustomerRecord();
+        RandomDataGenerator.seedForScenario(SCENARIO);
+        assertEquals(expected, List.of(first, RandomDataGenerator.generateCustomerRecord()));
+    }
+
+    @Test
+    void threadsDrawFromIndependentStreams() throws Exception {
+        RandomDataGenerator.seed(5);
+        List<CustomerRecord> expected = records(20);
+
+        // Two threads with the same seed draw in lockstep; neither disturbs the other's sequence
+        CountDownLatch seeded = new CountDownLatch(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<List<CustomerRecord>>> workers = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                workers.add(pool.submit(() -> {
+                    RandomDataGenerator.seed(5);
+                    seeded.countDown();
+                    seeded.await();
+                    return records(20);
+                }));
+            }
+            for (Future<List<CustomerRecord>> worker : workers) {
+                assertEquals(expected, worker.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<CustomerRecord> records(int count) {
+        List<CustomerRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(RandomDataGenerator.generateCustomerRecord());
+        }
+        return records;
+    }
+}
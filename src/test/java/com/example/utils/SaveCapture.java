@@ -0,0 +1,163 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Records the HTTP requests the Save button issues during a UI run, together with the
+ * session cookies, so {@link com.example.runner.SaveReplayer} can re-issue them without a browser
+ * The page's fetch and XMLHttpRequest are wrapped before Save is clicked; a classic form
+ * submit is recorded in sessionStorage because the page navigates away.
+ */
+public class SaveCapture {
+
+    /**
+     * Wraps fetch, XMLHttpRequest and form submit; every request is recorded with method, URL,
+     * headers and body, and gets a status once its response arrives (-1 for a form submit)
+     */
+    private static final String ARM_SCRIPT =
+            "if (!window.__lmsCapture) {"
+            + "  window.__lmsCapture = [];"
+            + "  var bodyText = function (b) {"
+            + "    if (typeof b === 'string') { return b; }"
+            + "    if (b instanceof URLSearchParams) { return b.toString(); }"
+            + "    if (b instanceof FormData) { return new URLSearchParams(b).toString(); }"
+            + "    return null;"
+            + "  };"
+            + "  var nativeFetch = window.fetch;"
+            + "  if (nativeFetch) {"
+            + "    window.fetch = function (input, init) {"
+            + "      init = init || {};"
+            + "      var entry = { method: String(init.method || (input && input.method) || 'GET').toUpperCase(),"
+            + "        url: new URL(typeof input === 'string' ? input : input.url, location.href).href,"
+            + "        headers: {}, body: bodyText(init.body) };"
+            + "      var h = init.headers;"
+            + "      if (h instanceof Headers) { h.forEach(function (v, k) { entry.headers[k] = v; }); }"
+            + "      else if (h) { Object.keys(h).forEach(function (k) { entry.headers[k] = h[k]; }); }"
+            + "      window.__lmsCapture.push(entry);"
+            + "      return nativeFetch.apply(this, arguments).then("
+            + "        function (r) { entry.status = r.status; return r; },"
+            + "        function (e) { entry.status = 0; throw e; });"
+            + "    };"
+            + "  }"
+            + "  var xhr = XMLHttpRequest.prototype, open = xhr.open, send = xhr.send, header = xhr.setRequestHeader;"
+            + "  xhr.open = function (method, url) {"
+            + "    this.__capture = { method: String(method).toUpperCase(), url: new URL(url, location.href).href, headers: {} };"
+            + "    return open.apply(this, arguments);"
+            + "  };"
+            + "  xhr.setRequestHeader = function (k, v) {"
+            + "    if (this.__capture) { this.__capture.headers[k] = v; }"
+            + "    return header.apply(this, arguments);"
+            + "  };"
+            + "  xhr.send = function (b) {"
+            + "    var entry = this.__capture;"
+            + "    if (entry) {"
+            + "      entry.body = bodyText(b);"
+            + "      window.__lmsCapture.push(entry);"
+            + "      this.addEventListener('loadend', function () { entry.status = this.status; });"
+            + "    }"
+            + "    return send.apply(this, arguments);"
+            + "  };"
+            + "  document.addEventListener('submit', function (event) {"
+            + "    var form = event.target;"
+            + "    window.__lmsCapture.push({ method: String(form.method || 'GET').toUpperCase(),"
+            + "      url: new URL(form.action || location.href, location.href).href,"
+            + "      headers: { 'Content-Type': 'application/x-www-form-urlencoded' },"
+            + "      body: new URLSearchParams(new FormData(form)).toString(), status: -1 });"
+            + "    sessionStorage.setItem('__lmsCapture', JSON.stringify(window.__lmsCapture));"
+            + "  }, true);"
+            + "}"
+            + "window.__lmsCapture.length = 0;"
+            + "sessionStorage.removeItem('__lmsCapture');";
+
+    /**
+     * Returns the recorded requests once every one of them has completed, otherwise null
+     */
+    private static final String COLLECT_SCRIPT =
+            "var entries = window.__lmsCapture || JSON.parse(sessionStorage.getItem('__lmsCapture') || '[]');"
+            + " if (entries.length === 0) { return null; }"
+            + " for (var i = 0; i < entries.length; i++) { if (entries[i].status === undefined) { return null; } }"
+            + " return entries;";
+
+    private static final Json JSON = new Json();
+
+    /**
+     * Start recording the requests of the current page
+     * @param driver WebDriver instance
+     */
+    public static void arm(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(ARM_SCRIPT);
+    }
+
+    /**
+     * Wait for the recorded requests to complete and write them with the session cookies
+     * to replay.capture.file
+     * @param driver WebDriver instance
+     */
+    @SuppressWarnings("unchecked")
+    public static void collect(WebDriver driver) {
+        List<Map<String, Object>> entries;
+        try {
+            entries = new WaitHelper(driver, ConfigReader.getExplicitWait()).waitForCondition(
+                    d -> (List<Map<String, Object>>) ((JavascriptExecutor) d).executeScript(COLLECT_SCRIPT));
+        } catch (RuntimeException e) {
+            System.err.println("No completed Save request captured: " + e.getMessage());
+            return;
+        }
+
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", entry.get("method"));
+            request.put("url", entry.get("url"));
+            request.put("headers", entry.get("headers"));
+            request.put("body", entry.get("body"));
+            request.put("status", entry.get("status"));
+            requests.add(request);
+        }
+
+        Map<String, Object> capture = new LinkedHashMap<>();
+        capture.put("capturedAt", Instant.now().toString());
+        capture.put("appUrl", ConfigReader.getAppUrl());
+        capture.put("cookies", driver.manage().getCookies().stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; ")));
+        capture.put("requests", requests);
+        write(Paths.get(ConfigReader.getSaveCaptureFile()), capture);
+    }
+
+    /**
+     * Read a capture file
+     * @param file Capture file
+     * @return Capture with appUrl, cookies and requests
+     * @throws IOException if the file cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> read(Path file) throws IOException {
+        return JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+    }
+
+    private static synchronized void write(Path file, Map<String, Object> capture) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, JSON.toJson(capture), StandardCharsets.UTF_8);
+            System.out.println("Captured " + ((List<?>) capture.get("requests")).size() + " Save request(s) to "
+                    + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write Save capture: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Writes screenshots to disk on a background thread
+ * Test threads hand over the PNG bytes they already captured for the report and continue;
+ * writer threads optionally downscale and re-encode them (screenshot.format, screenshot.scale)
+ * and write them to the screenshot directory. The queue is bounded, so a
+ * burst of captures slows the test threads down instead of filling the heap.
+ * Pending screenshots are written before the JVM exits.
+ */
+public class ScreenshotPipeline {
+
+    private static final String PNG = "png";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static ScreenshotPipeline instance;
+
+    static {
+        // Image scaling must never open a window or a dock icon
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        // Decode from memory; the default disk cache leaves temp files and breaks during shutdown
+        ImageIO.setUseCache(false);
+    }
+
+    // Tells a writer to stop once everything queued before it is written
+    private final Job stop = new Job(new byte[0], null);
+    private final BlockingQueue<Job> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private final Path directory;
+    private final String format;
+    private final double scale;
+    private final float jpegQuality;
+    private final AtomicLong written = new AtomicLong();
+
+    private ScreenshotPipeline(Path directory, String format, double scale, float jpegQuality, int queueSize,
+                               int writerThreads) {
+        this.directory = directory;
+        this.format = resolveFormat(format);
+        this.scale = scale;
+        this.jpegQuality = jpegQuality;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Failed to create screenshot directory " + directory + ": " + e.getMessage());
+        }
+        for (int i = 1; i <= Math.max(1, writerThreads); i++) {
+            Thread writer = new Thread(this::drain, "screenshot-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Get the pipeline, starting its writer threads on first use
+     * @return Shared ScreenshotPipeline
+     */
+    public static synchronized ScreenshotPipeline getInstance() {
+        if (instance == null) {
+            instance = new ScreenshotPipeline(Paths.get(ConfigReader.getScreenshotDirectory()),
+                    ConfigReader.getScreenshotFormat(), ConfigReader.getScreenshotScale(),
+                    ConfigReader.getScreenshotJpegQuality(), ConfigReader.getScreenshotQueueSize(),
+                    ConfigReader.getScreenshotWriterThreads());
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "screenshot-writer-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a screenshot for writing
+     * Waits only while the queue is full
+     * @param png Screenshot as PNG bytes
+     * @param name File name without extension
+     * @return Path the screenshot will be written to
+     */
+    public Path submit(byte[] png, String name) {
+        Path target = directory.resolve(name + "." + ("jpeg".equals(format) ? "jpg" : format));
+        try {
+            queue.put(new Job(png, target));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return target;
+    }
+
+    /**
+     * Get number of screenshots written so far
+     * @return Written count
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Write everything queued so far and stop the writer threads
+     */
+    public void close() {
+        try {
+            for (int i = 0; i < writers.size(); i++) {
+                queue.put(stop);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+            for (Thread writer : writers) {
+                writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == stop) {
+                return;
+            }
+            try {
+                write(job);
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to write screenshot " + job.target() + ": " + e.getMessage());
+                // Do not leave a truncated image behind
+                try {
+                    Files.deleteIfExists(job.target());
+                } catch (IOException ignored) {
+                    // Reported above
+                }
+            }
+        }
+    }
+
+    private void write(Job job) throws IOException {
+        if (PNG.equals(format) && scale >= 1.0) {
+            // Nothing to convert: the captured bytes are the file
+            Files.write(job.target(), job.png());
+            return;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(job.png()));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        BufferedImage converted = convert(image);
+        try (OutputStream out = Files.newOutputStream(job.target());
+             ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriter imageWriter = ImageIO.getImageWritersByFormatName(format).next();
+            try {
+                ImageWriteParam param = imageWriter.getDefaultWriteParam();
+                if (param.canWriteCompressed() && !PNG.equals(format)) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                    param.setCompressionQuality(jpegQuality);
+                }
+                imageWriter.setOutput(stream);
+                imageWriter.write(null, new IIOImage(converted, null, null), param);
+            } finally {
+                imageWriter.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale the image and drop the alpha channel, which JPEG cannot store
+     */
+    private BufferedImage convert(BufferedImage image) {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * Math.min(scale, 1.0)));
+        int type = PNG.equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Use the configured format when an ImageIO writer exists for it, otherwise PNG
+     * WebP needs an ImageIO plugin on the classpath
+     */
+    private static String resolveFormat(String format) {
+        String name = format.toLowerCase(Locale.ROOT).replace("jpg", "jpeg");
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(name);
+        if (!writers.hasNext()) {
+            System.err.println("No image writer for screenshot.format=" + format + ", writing PNG");
+            return PNG;
+        }
+        return name;
+    }
+
+    /**
+     * Captured bytes and the file they go to
+     */
+    private record Job(byte[] png, Path target) {
+    }
+}
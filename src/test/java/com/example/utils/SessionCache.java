@@ -0,0 +1,143 @@
+package com.example.utils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Per-worker cache of an authenticated browser session
+ * Lets scenarios skip the login and OTP flow by restoring cookies and web storage
+ */
+public class SessionCache {
+
+    private static final ThreadLocal<Snapshot> SNAPSHOT = new ThreadLocal<>();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }"
+            + " return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + " Object.keys(local).forEach(function (k) { window.localStorage.setItem(k, local[k]); });"
+            + " Object.keys(session).forEach(function (k) { window.sessionStorage.setItem(k, session[k]); });";
+
+    private SessionCache() {
+    }
+
+    /**
+     * Save the authenticated session of the current worker
+     * @param driver WebDriver on a page behind the login
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver) {
+        Map<String, Map<String, String>> storage =
+                (Map<String, Map<String, String>>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        String landingUrl = driver.getCurrentUrl();
+        SNAPSHOT.set(new Snapshot(originOf(landingUrl), landingUrl, driver.manage().getCookies(),
+                storage.get("local"), storage.get("session"), Instant.now()));
+        System.out.println("Session cached for " + originOf(landingUrl) + " [" + Thread.currentThread().getName() + "]");
+    }
+
+    /**
+     * Restore the cached session into a browser that has the application origin open
+     * @param driver WebDriver currently on the application URL
+     * @return true if a snapshot for this origin was applied
+     */
+    public static boolean restore(WebDriver driver) {
+        Snapshot snapshot = SNAPSHOT.get();
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired() || !snapshot.origin.equals(originOf(driver.getCurrentUrl()))) {
+            invalidate();
+            return false;
+        }
+
+        for (Cookie cookie : snapshot.cookies) {
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (RuntimeException e) {
+                System.err.println("Skipping cookie " + cookie.getName() + ": " + e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, snapshot.localStorage, snapshot.sessionStorage);
+        driver.get(snapshot.landingUrl);
+        return true;
+    }
+
+    /**
+     * Drop the cached session after it failed revalidation and clear what restore put into the browser
+     * Cookies, local and session storage of the session's origin are cleared, so the login that
+     * follows starts from a clean origin instead of on top of the stale session
+     * @param driver WebDriver the snapshot was restored into
+     */
+    public static void discard(WebDriver driver) {
+        Snapshot snapshot = SNAPSHOT.get();
+        invalidate();
+        if (snapshot == null) {
+            return;
+        }
+        if (!snapshot.origin.equals(originOf(driver.getCurrentUrl()))) {
+            driver.get(snapshot.origin + "/");
+        }
+        ((JavascriptExecutor) driver).executeScript("localStorage.clear(); sessionStorage.clear();");
+        driver.manage().deleteAllCookies();
+    }
+
+    /**
+     * Drop the cached session of the current worker
+     */
+    public static void invalidate() {
+        SNAPSHOT.remove();
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (RuntimeException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Authenticated cookies and web storage captured after a successful login
+     */
+    private static final class Snapshot {
+        private final String origin;
+        private final String landingUrl;
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final Instant capturedAt;
+
+        private Snapshot(String origin, String landingUrl, Set<Cookie> cookies,
+                         Map<String, String> localStorage, Map<String, String> sessionStorage, Instant capturedAt) {
+            this.origin = origin;
+            this.landingUrl = landingUrl;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.capturedAt = capturedAt;
+        }
+
+        private boolean isExpired() {
+            Duration ttl = Duration.ofMinutes(ConfigReader.getSessionCacheTtlMinutes());
+            if (Instant.now().isAfter(capturedAt.plus(ttl))) {
+                return true;
+            }
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(Instant.now())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors that run one browser session flow per task
+ * A session spends nearly all of its time blocked on driver HTTP calls, waits and sleeps.
+ * On a virtual thread that blocking releases the carrier thread, so hundreds of sessions
+ * need only a handful of OS threads; a platform pool needs one OS thread per concurrent session.
+ */
+public class SessionExecutors {
+
+    public static final String VIRTUAL = "virtual";
+    public static final String PLATFORM = "platform";
+
+    private SessionExecutors() {
+    }
+
+    /**
+     * Create an executor for session flows
+     * @param type virtual for a thread per task, platform for a fixed pool
+     * @param platformThreads Size of the fixed pool when type is platform
+     * @param namePrefix Thread name prefix
+     * @return New ExecutorService
+     */
+    public static ExecutorService create(String type, int platformThreads, String namePrefix) {
+        if (VIRTUAL.equalsIgnoreCase(type)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory());
+        }
+        if (!PLATFORM.equalsIgnoreCase(type)) {
+            System.out.println("Executor type not supported: " + type + ". Defaulting to platform.");
+        }
+        return Executors.newFixedThreadPool(platformThreads, Thread.ofPlatform().name(namePrefix, 1).factory());
+    }
+}
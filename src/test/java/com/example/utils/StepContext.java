@@ -0,0 +1,38 @@
+package com.example.utils;
+
+/**
+ * Name of the Cucumber step currently running on this worker thread
+ * Set by a Cucumber plugin so WebDriver commands can be attributed to a step
+ */
+public class StepContext {
+
+    private static final String NO_STEP = "(no step)";
+    private static final ThreadLocal<String> CURRENT_STEP = new ThreadLocal<>();
+
+    private StepContext() {
+    }
+
+    /**
+     * Get step running on the current thread
+     * @return Step text, or a placeholder outside of a step
+     */
+    public static String getCurrentStep() {
+        String step = CURRENT_STEP.get();
+        return step != null ? step : NO_STEP;
+    }
+
+    /**
+     * Set step running on the current thread
+     * @param step Step text
+     */
+    public static void setCurrentStep(String step) {
+        CURRENT_STEP.set(step);
+    }
+
+    /**
+     * Clear step of the current thread
+     */
+    public static void clear() {
+        CURRENT_STEP.remove();
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent set of values already sent to the application, so later runs against the
+ * same environment do not reuse customer numbers, emails or Aadhaar numbers it already holds
+ * The file is a memory-mapped open-addressing hash table of 64-bit fingerprints of
+ * namespace and value. Slots are claimed with compare-and-set directly in the mapping, which is
+ * atomic across threads and across JVMs that map the same file, so parallel workers need no lock.
+ * A lookup touches one or two cache lines whatever the number of entries. The table is grown
+ * when a JVM opens it alone and finds it more than half full; a table that fills up during a run
+ * fails the next add instead of silently forgetting values. Values are added when they are
+ * generated, so values of runs that failed before Save stay used as well.
+ * Only the working table is mapped. Headers and growth use plain channel reads and writes, and
+ * the file is closed before a grown table replaces it, which Windows requires.
+ */
+public class UsedValueRegistry {
+
+    private static final long MAGIC = 0x4C4D535553454431L;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final double GROW_LOAD = 0.5;
+    private static final double FULL_LOAD = 0.9;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    private static volatile UsedValueRegistry instance;
+
+    private final Path file;
+    private final MappedByteBuffer table;
+    private final int mask;
+    private final long fullCount;
+    // Holds the shared lock for the lifetime of the JVM
+    private FileChannel lockChannel;
+
+    private UsedValueRegistry(Path file, MappedByteBuffer table, int capacity) {
+        this.file = file;
+        this.table = table;
+        this.mask = capacity - 1;
+        this.fullCount = (long) (capacity * FULL_LOAD);
+    }
+
+    /**
+     * Get the registry of the configured environment, opening it on first use
+     * @return Shared UsedValueRegistry
+     */
+    public static UsedValueRegistry getInstance() {
+        if (instance == null) {
+            synchronized (UsedValueRegistry.class) {
+                if (instance == null) {
+                    instance = open(registryFile(), ConfigReader.getUsedRegistryCapacity());
+                    Runtime.getRuntime().addShutdownHook(new Thread(instance.table::force, "used-registry-flush"));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Open or create a registry file
+     * Every JVM holds a shared lock on a companion lock file while the table is mapped;
+     * a JVM that gets it exclusively is alone and may rebuild the table with a larger capacity
+     * @param file Registry file
+     * @param initialCapacity Slot count of a new file, rounded up to a power of two
+     * @return Open registry
+     */
+    public static UsedValueRegistry open(Path file, int initialCapacity) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock exclusive = lockChannel.tryLock();
+            if (exclusive != null) {
+                long[] header;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    header = prepare(channel, initialCapacity);
+                }
+                // The file is closed and unmapped here, so the grown table can replace it
+                if (header[1] > header[0] * GROW_LOAD) {
+                    grow(file, Integer.highestOneBit((int) (header[1] / GROW_LOAD)) << 2);
+                }
+                exclusive.release();
+            }
+            // Blocks while another JVM is growing the table; the file is opened only afterwards
+            lockChannel.lock(0, Long.MAX_VALUE, true);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                UsedValueRegistry registry = map(file, channel, initialCapacity);
+                registry.lockChannel = lockChannel;
+                return registry;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open used value registry " + file, e);
+        }
+    }
+
+    /**
+     * Register a value
+     * @param namespace Kind of value (customer, email, aadhaar, mobile)
+     * @param value Value sent to the application
+     * @return true if the value was not registered before, false if it has been used
+     * @throws IllegalStateException if the table is full and the value cannot be recorded
+     */
+    public boolean add(String namespace, String value) {
+        long fingerprint = fingerprint(namespace, value);
+        int index = (int) fingerprint & mask;
+        while (true) {
+            int offset = HEADER_BYTES + index * Long.BYTES;
+            long slot = (long) LONGS.getVolatile(table, offset);
+            if (slot == fingerprint) {
+                return false;
+            }
+            if (slot == 0) {
+                if ((long) LONGS.getVolatile(table, COUNT_OFFSET) >= fullCount) {
+                    throw new IllegalStateException("Used value registry " + file + " is full (" + size()
+                            + " of " + capacity() + " slots); it grows on the next run, or raise"
+                            + " used.registry.capacity");
+                }
+                if (LONGS.compareAndSet(table, offset, 0L, fingerprint)) {
+                    LONGS.getAndAdd(table, COUNT_OFFSET, 1L);
+                    return true;
+                }
+                // Another writer claimed the slot; it may have stored the same value
+                continue;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Check if a value has been registered
+     * @param namespace Kind of value
+     * @param value Value to look up
+     * @return true if the value has been used
+     */
+    public boolean contains(String namespace, String value) {
+        long fingerprint = fingerprint(namespace, value);
+        int index = (int) fingerprint & mask;
+        while (true) {
+            long slot = (long) LONGS.getVolatile(table, HEADER_BYTES + index * Long.BYTES);
+            if (slot == fingerprint) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Get number of registered values
+     * @return Entry count
+     */
+    public long size() {
+        return (long) LONGS.getVolatile(table, COUNT_OFFSET);
+    }
+
+    /**
+     * Get slot count of the table
+     * @return Capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Release this JVM's lock on the file so it can be opened again, e.g. to grow it
+     * The registry must not be used afterwards
+     */
+    void close() throws IOException {
+        table.force();
+        lockChannel.close();
+    }
+
+    /**
+     * Write a new file's header, or read the header of an existing one, without mapping the file
+     * @return Capacity and entry count
+     */
+    private static long[] prepare(FileChannel channel, int initialCapacity) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        if (channel.size() >= HEADER_BYTES) {
+            readFully(channel, header, 0);
+            if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a used value registry");
+            }
+            return new long[] {header.getLong(CAPACITY_OFFSET), header.getLong(COUNT_OFFSET)};
+        }
+        int capacity = Integer.highestOneBit(Math.max(1024, initialCapacity - 1)) << 1;
+        // Extend the file to the table size; the new slots read as 0, i.e. empty
+        channel.write(ByteBuffer.allocate(Long.BYTES), HEADER_BYTES + (long) (capacity - 1) * Long.BYTES);
+        header.putLong(CAPACITY_OFFSET, capacity);
+        header.putLong(COUNT_OFFSET, 0);
+        header.putLong(MAGIC_OFFSET, MAGIC);
+        writeFully(channel, header, 0);
+        channel.force(true);
+        return new long[] {capacity, 0};
+    }
+
+    private static UsedValueRegistry map(Path file, FileChannel channel, int initialCapacity) throws IOException {
+        int capacity = (int) prepare(channel, initialCapacity)[0];
+        MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_BYTES + (long) capacity * Long.BYTES);
+        table.order(ByteOrder.nativeOrder());
+        System.out.println("Used value registry " + file + ": " + table.getLong(COUNT_OFFSET) + " of "
+                + capacity + " slots used");
+        return new UsedValueRegistry(file, table, capacity);
+    }
+
+    /**
+     * Rehash every fingerprint into a table of the new capacity and swap it in atomically
+     * Both tables are read and written through closed-after-use channels, never mapped
+     */
+    private static void grow(Path file, int capacity) throws IOException {
+        Path grown = file.resolveSibling(file.getFileName() + ".grow");
+        Files.deleteIfExists(grown);
+        ByteBuffer to = ByteBuffer.allocate(HEADER_BYTES + capacity * Long.BYTES).order(ByteOrder.nativeOrder());
+        long count = 0;
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            int oldCapacity = (int) prepare(source, 0)[0];
+            ByteBuffer from = ByteBuffer.allocate(oldCapacity * Long.BYTES).order(ByteOrder.nativeOrder());
+            readFully(source, from, HEADER_BYTES);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldCapacity; i++) {
+                long fingerprint = from.getLong(i * Long.BYTES);
+                if (fingerprint != 0) {
+                    int index = (int) fingerprint & mask;
+                    while (to.getLong(HEADER_BYTES + index * Long.BYTES) != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    to.putLong(HEADER_BYTES + index * Long.BYTES, fingerprint);
+                    count++;
+                }
+            }
+        }
+        to.putLong(CAPACITY_OFFSET, capacity);
+        to.putLong(COUNT_OFFSET, count);
+        to.putLong(MAGIC_OFFSET, MAGIC);
+        try (FileChannel target = FileChannel.open(grown, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(target, to, 0);
+            target.force(true);
+        }
+        Files.move(grown, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("Used value registry " + file + " grown to " + capacity + " slots");
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Used value registry is truncated");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over namespace and value, finished with a mixer so the low bits
+     * used as the table index are well spread; 0 marks an empty slot and is never returned
+     */
+    private static long fingerprint(String namespace, String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (namespace + '\u0000' + value).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * One registry per application host, so QA and other environments keep separate histories
+     */
+    private static Path registryFile() {
+        String host = URI.create(ConfigReader.getAppUrl()).getHost();
+        String name = "used-values-" + (host != null ? host : "default") + ".bin";
+        return Paths.get(ConfigReader.getUsedRegistryDirectory(), name);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class UsedValueRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void remembersAddedValues() {
+        UsedValueRegistry registry = UsedValueRegistry.open(directory.resolve("used.bin"), 1024);
+        assertFalse(registry.contains("customer", "CUST00000001"));
+        assertTrue(registry.add("customer", "CUST00000001"));
+        assertTrue(registry.contains("customer", "CUST00000001"));
+        assertFalse(registry.add("customer", "CUST00000001"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void keepsNamespacesApart() {
+        UsedValueRegistry registry = UsedValueRegistry.open(directory.resolve("used.bin"), 1024);
+        registry.add("mobile", "9876543210");
+        assertTrue(registry.contains("mobile", "9876543210"));
+        assertFalse(registry.contains("aadhaar", "9876543210"));
+    }
+
+    @Test
+    void findsEveryValueOfAHalfFullTable() {
+        UsedValueRegistry registry = UsedValueRegistry.open(directory.resolve("used.bin"), 1024);
+        // Enough entries that many of them probe past a collision
+        int count = registry.capacity() / 2;
+        for (int i = 0; i < count; i++) {
+            assertTrue(registry.add("email", "user" + i + "@example.com"));
+        }
+        for (int i = 0; i < count; i++) {
+            assertTrue(registry.contains("email", "user" + i + "@example.com"), "user" + i);
+            assertFalse(registry.add("email", "user" + i + "@example.com"), "user" + i);
+        }
+        for (int i = count; i < 2 * count; i++) {
+            assertFalse(registry.contains("email", "user" + i + "@example.com"), "user" + i);
+        }
+        assertEquals(count, registry.size());
+    }
+
+    @Test
+    void failsInsteadOfForgettingValuesWhenFull() {
+        UsedValueRegistry registry = UsedValueRegistry.open(directory.resolve("used.bin"), 1024);
+        int capacity = registry.capacity();
+        int added = 0;
+        try {
+            while (true) {
+                registry.add("customer", "CUST" + added);
+                added++;
+            }
+        } catch (IllegalStateException e) {
+            // Every value accepted before the failure is recorded
+            assertTrue(added < capacity);
+            assertEquals(added, registry.size());
+            assertTrue(registry.contains("customer", "CUST" + (added - 1)));
+        }
+        assertThrows(IllegalStateException.class, () -> registry.add("customer", "another"));
+    }
+
+    @Test
+    void growsAMoreThanHalfFullTableWhenReopened() throws IOException {
+        Path file = directory.resolve("used.bin");
+        UsedValueRegistry registry = UsedValueRegistry.open(file, 1024);
+        int capacity = registry.capacity();
+        int count = capacity * 3 / 4;
+        for (int i = 0; i < count; i++) {
+            registry.add("email", "user" + i + "@example.com");
+        }
+        registry.close();
+
+        UsedValueRegistry grown = UsedValueRegistry.open(file, 1024);
+        assertTrue(grown.capacity() > capacity, "capacity " + grown.capacity());
+        assertEquals(count, grown.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(grown.contains("email", "user" + i + "@example.com"), "user" + i);
+        }
+        assertTrue(grown.add("email", "new@example.com"));
+        assertFalse(Files.exists(file.resolveSibling("used.bin.grow")));
+        grown.close();
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Learns how long every explicit wait takes and sizes its timeout from that
+ * Each wait is keyed by browser, calling page-object method and what is waited for.
+ * Once a key has enough samples its timeout becomes p99 times wait.budget.safety.factor and its
+ * polling interval a fraction of the median, both clamped to the configured bounds; keys without
+ * enough samples keep explicit.wait. Latencies are persisted to wait.budget.file at JVM exit,
+ * so the next run starts with the learned budgets and a broken page fails in seconds.
+ * The number of condition checks per wait is recorded too and reported per run in
+ * wait.report.file, for tuning the polling strategy.
+ */
+public class WaitBudgets {
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    // The poll interval is this fraction of the median wait, so fast waits are polled often
+    private static final int POLLS_PER_MEDIAN = 4;
+    private static final Json JSON = new Json();
+
+    private static WaitBudgets instance;
+
+    private final Map<String, Histogram> observed = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> history = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> polls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> timeouts = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Path file;
+    private final Duration defaultTimeout;
+    private final Duration defaultPolling;
+    private final double safetyFactor;
+    private final long minSamples;
+    private final long minTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final long minPollMillis;
+    private final long maxPollMillis;
+
+    WaitBudgets() {
+        this.enabled = ConfigReader.isWaitBudgetEnabled();
+        this.file = Paths.get(ConfigReader.getWaitBudgetFile());
+        this.defaultTimeout = Duration.ofSeconds(ConfigReader.getExplicitWait());
+        this.defaultPolling = Duration.ofMillis(ConfigReader.getWaitBudgetMaxPollMillis());
+        this.safetyFactor = ConfigReader.getWaitBudgetSafetyFactor();
+        this.minSamples = ConfigReader.getWaitBudgetMinSamples();
+        this.minTimeoutMillis = ConfigReader.getWaitBudgetMinTimeoutMillis();
+        this.maxTimeoutMillis = Math.min(ConfigReader.getWaitBudgetMaxTimeoutMillis(), defaultTimeout.toMillis());
+        this.minPollMillis = ConfigReader.getWaitBudgetMinPollMillis();
+        this.maxPollMillis = ConfigReader.getWaitBudgetMaxPollMillis();
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Get the budgets, loading the persisted latencies on first use
+     * @return Shared WaitBudgets
+     */
+    public static synchronized WaitBudgets getInstance() {
+        if (instance == null) {
+            instance = new WaitBudgets();
+            WaitBudgets budgets = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                budgets.writeReport(Paths.get(ConfigReader.getWaitReportFile()));
+                if (budgets.enabled && ConfigReader.isWaitBudgetLearn()) {
+                    budgets.save();
+                }
+            }, "wait-budget-writer"));
+        }
+        return instance;
+    }
+
+    /**
+     * Build the key of a wait issued from the current page-object method
+     * @param what What is waited for, e.g. "visible By.id: Zone"
+     * @return Key made of browser, caller and what
+     */
+    public static String key(String what) {
+        return DriverManager.getBrowser() + "|" + CommandLatencyListener.findCaller() + "|" + what;
+    }
+
+    /**
+     * Get timeout and polling interval for a wait
+     * @param key Wait key
+     * @return Learned budget, or explicit.wait when the key has too few samples
+     */
+    public Budget budgetFor(String key) {
+        Histogram latencies = enabled ? learned(key) : null;
+        if (latencies == null) {
+            return new Budget(defaultTimeout, defaultPolling, false);
+        }
+        long p99 = latencies.getValueAtPercentile(99.0);
+        long p50 = latencies.getValueAtPercentile(50.0);
+        long timeoutMillis = clamp(Math.round(p99 * safetyFactor), minTimeoutMillis, maxTimeoutMillis);
+        long pollMillis = clamp(p50 / POLLS_PER_MEDIAN, minPollMillis, maxPollMillis);
+        return new Budget(Duration.ofMillis(timeoutMillis), Duration.ofMillis(pollMillis), true);
+    }
+
+    /**
+     * Record how long a successful wait took and how many condition checks it needed
+     * @param key Wait key
+     * @param elapsedMillis Time until the condition was met
+     * @param pollCount Number of condition checks, including the one that succeeded
+     */
+    public void record(String key, long elapsedMillis, int pollCount) {
+        observed.computeIfAbsent(key, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3))
+                .recordValue(Math.min(Math.max(0, elapsedMillis), HIGHEST_TRACKABLE_MILLIS));
+        polls.computeIfAbsent(key, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3))
+                .recordValue(Math.min(Math.max(1, pollCount), HIGHEST_TRACKABLE_MILLIS));
+    }
+
+    /**
+     * Count a wait that ran out of time; its latency is unknown and is not learned
+     * @param key Wait key
+     */
+    public void recordTimeout(String key) {
+        timeouts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write this run's waits per key: count, timeouts, wait time and condition checks,
+     * slowest total wait time first
+     * @param file Destination file
+     */
+    public synchronized void writeReport(Path file) {
+        if (observed.isEmpty() && timeouts.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Set<String> keys = new TreeSet<>(observed.keySet());
+        keys.addAll(timeouts.keySet());
+        for (String key : keys) {
+            Histogram latencies = observed.get(key);
+            Histogram checks = polls.get(key);
+            LongAdder timedOut = timeouts.get(key);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("key", key);
+            row.put("waits", latencies == null ? 0 : latencies.getTotalCount());
+            row.put("timeouts", timedOut == null ? 0 : timedOut.sum());
+            if (latencies != null && checks != null) {
+                row.put("totalWaitMillis", Math.round(latencies.getMean() * latencies.getTotalCount()));
+                row.put("p50Millis", latencies.getValueAtPercentile(50.0));
+                row.put("p99Millis", latencies.getValueAtPercentile(99.0));
+                row.put("maxMillis", latencies.getMaxValue());
+                row.put("totalPolls", Math.round(checks.getMean() * checks.getTotalCount()));
+                row.put("meanPolls", Math.round(checks.getMean() * 10) / 10.0);
+                row.put("p99Polls", checks.getValueAtPercentile(99.0));
+                row.put("maxPolls", checks.getMaxValue());
+            }
+            Budget budget = budgetFor(key);
+            row.put("budgetMillis", budget.timeout().toMillis());
+            row.put("budgetLearned", budget.learned());
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparingLong(
+                (Map<String, Object> row) -> ((Number) row.getOrDefault("totalWaitMillis", 0L)).longValue()).reversed());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generated", Instant.now().toString());
+        report.put("pollingStrategy", ConfigReader.getWaitPollingStrategy());
+        report.put("unit", "milliseconds");
+        report.put("waits", rows);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, JSON.toJson(report), StandardCharsets.UTF_8);
+            System.out.println("Wait report written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write wait report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Latencies a budget is derived from: this run once it has enough samples, otherwise earlier runs
+     */
+    private Histogram learned(String key) {
+        Histogram current = observed.get(key);
+        if (current != null && current.getTotalCount() >= minSamples) {
+            return current;
+        }
+        Histogram previous = history.get(key);
+        if (previous != null && previous.getTotalCount() >= minSamples) {
+            return previous;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> report = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+            for (Map<String, Object> row : (List<Map<String, Object>>) report.getOrDefault("budgets", List.of())) {
+                byte[] encoded = Base64.getDecoder().decode((String) row.get("histogram"));
+                history.put((String) row.get("key"),
+                        Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), HIGHEST_TRACKABLE_MILLIS));
+            }
+            System.out.println("Loaded " + history.size() + " wait budgets from " + file.toAbsolutePath());
+        } catch (IOException | RuntimeException | DataFormatException e) {
+            System.err.println("Ignoring wait budgets in " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persist the latencies for the next run
+     * A key with enough samples in this run replaces its history, so budgets follow the
+     * application when it gets faster or slower; other keys add this run to their history.
+     */
+    public synchronized void save() {
+        Map<String, Histogram> merged = new TreeMap<>(history);
+        observed.forEach((key, current) -> {
+            Histogram previous = history.get(key);
+            if (previous == null || current.getTotalCount() >= minSamples) {
+                merged.put(key, current.copy());
+            } else {
+                Histogram combined = previous.copy();
+                combined.add(current);
+                merged.put(key, combined);
+            }
+        });
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        merged.forEach((key, latencies) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("key", key);
+            row.put("samples", latencies.getTotalCount());
+            LongAdder timedOut = timeouts.get(key);
+            row.put("timeoutsThisRun", timedOut == null ? 0 : timedOut.sum());
+            row.put("p50Millis", latencies.getValueAtPercentile(50.0));
+            row.put("p99Millis", latencies.getValueAtPercentile(99.0));
+            row.put("maxMillis", latencies.getMaxValue());
+            if (latencies.getTotalCount() >= minSamples) {
+                row.put("timeoutMillis", clamp(Math.round(latencies.getValueAtPercentile(99.0) * safetyFactor),
+                        minTimeoutMillis, maxTimeoutMillis));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(latencies.getNeededByteBufferCapacity());
+            int length = latencies.encodeIntoCompressedByteBuffer(buffer);
+            byte[] encoded = new byte[length];
+            buffer.flip();
+            buffer.get(encoded);
+            row.put("histogram", Base64.getEncoder().encodeToString(encoded));
+            rows.add(row);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("updated", Instant.now().toString());
+        report.put("safetyFactor", safetyFactor);
+        report.put("minSamples", minSamples);
+        report.put("budgets", rows);
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // Written next to the target and moved, so an interrupted run never leaves half a file
+            Path temporary = Files.createTempFile(directory, "wait-budgets", ".tmp");
+            Files.writeString(temporary, JSON.toJson(report), StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Wait budgets written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Failed to write wait budgets: " + e.getMessage());
+        }
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Timeout and polling interval of one wait
+     * @param timeout Maximum time to wait
+     * @param polling Interval between condition checks
+     * @param learned true if derived from recorded latencies
+     */
+    public record Budget(Duration timeout, Duration polling, boolean learned) {
+    }
+}
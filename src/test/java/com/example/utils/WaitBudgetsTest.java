@@ -0,0 +1,108 @@
+package com.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WaitBudgetsTest {
+
+    private static final Map<String, String> CONFIG = Map.of(
+            "wait.budget.enabled", "true",
+            "explicit.wait", "20",
+            "wait.budget.safety.factor", "3.0",
+            "wait.budget.min.samples", "5",
+            "wait.budget.min.timeout.millis", "2000",
+            "wait.budget.max.timeout.millis", "10000",
+            "wait.budget.min.poll.millis", "50",
+            "wait.budget.max.poll.millis", "500");
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void configure() {
+        CONFIG.forEach(System::setProperty);
+        System.setProperty("wait.budget.file", directory.resolve("wait-budgets.json").toString());
+    }
+
+    @AfterEach
+    void restore() {
+        CONFIG.keySet().forEach(System::clearProperty);
+        System.clearProperty("wait.budget.file");
+    }
+
+    @Test
+    void usesExplicitWaitUntilEnoughSamples() {
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 1_000, 4);
+        WaitBudgets.Budget budget = budgets.budgetFor("key");
+
+        assertFalse(budget.learned());
+        assertEquals(Duration.ofSeconds(20), budget.timeout());
+        assertEquals(Duration.ofMillis(500), budget.polling());
+    }
+
+    @Test
+    void derivesTimeoutFromP99AndPollingFromTheMedian() {
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 1_000, 5);
+        WaitBudgets.Budget budget = budgets.budgetFor("key");
+
+        assertTrue(budget.learned());
+        assertEquals(Duration.ofMillis(3_000), budget.timeout());
+        assertEquals(Duration.ofMillis(250), budget.polling());
+    }
+
+    @Test
+    void clampsFastWaitsToTheMinimums() {
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 10, 5);
+        WaitBudgets.Budget budget = budgets.budgetFor("key");
+
+        assertEquals(Duration.ofMillis(2_000), budget.timeout());
+        assertEquals(Duration.ofMillis(50), budget.polling());
+    }
+
+    @Test
+    void clampsSlowWaitsToTheMaximums() {
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 8_000, 5);
+        WaitBudgets.Budget budget = budgets.budgetFor("key");
+
+        assertEquals(Duration.ofMillis(10_000), budget.timeout());
+        assertEquals(Duration.ofMillis(500), budget.polling());
+    }
+
+    @Test
+    void neverExceedsExplicitWait() {
+        System.setProperty("wait.budget.max.timeout.millis", "60000");
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 30_000, 5);
+
+        assertEquals(Duration.ofSeconds(20), budgets.budgetFor("key").timeout());
+    }
+
+    @Test
+    void ignoresSamplesWhenDisabled() {
+        System.setProperty("wait.budget.enabled", "false");
+        WaitBudgets budgets = new WaitBudgets();
+        record(budgets, "key", 1_000, 5);
+
+        assertFalse(budgets.budgetFor("key").learned());
+    }
+
+    private static void record(WaitBudgets budgets, String key, long elapsedMillis, int times) {
+        for (int i = 0; i < times; i++) {
+            budgets.record(key, elapsedMillis, 1);
+        }
+    }
+}
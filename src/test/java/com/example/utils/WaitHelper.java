@@ -1,6 +1,11 @@
 package com.example.utils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
@@ -8,37 +13,192 @@ import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 /**
  * Utility class for handling explicit waits in Selenium
- * Provides reusable wait methods for common scenarios
+ * Provides reusable wait methods for common scenarios. Unless a fixed timeout is given,
+ * every wait gets its timeout and polling interval from {@link WaitBudgets}; the pauses
+ * between checks follow the configured {@link PollingStrategy}.
  */
 public class WaitHelper {
 
+    public static final String FILL_OK = "ok";
+
     private final WebDriver driver;
-    private final WebDriverWait wait;
-    private static final int DEFAULT_TIMEOUT = 20;
+    // Null when the wait budgets decide the timeout of every wait
+    private final Duration fixedTimeout;
+    private final WaitBudgets budgets = WaitBudgets.getInstance();
+    private static final PollingStrategy POLLING = PollingStrategy.fromConfig();
     private static final int POLLING_INTERVAL = 500;
+    private static final long OBSERVER_SLICE_MILLIS = 5000;
+
+    /**
+     * Marks dependent selects as holding the options of the previous parent selection: until their
+     * options change (the first option mutation after this call) they do not count as ready.
+     * Run before the parent is changed, so the repopulation cannot slip in before the marker.
+     */
+    private static final String MARK_STALE_SCRIPT =
+            "Array.prototype.forEach.call(arguments[0], function (select) {"
+            + "   if (select.__lmsStaleObserver) { select.__lmsStaleObserver.disconnect(); }"
+            + "   select.__lmsStale = true;"
+            + "   var observer = select.__lmsStaleObserver = new MutationObserver(function () {"
+            + "     select.__lmsStale = false;"
+            + "     observer.disconnect();"
+            + "   });"
+            + "   observer.observe(select, { childList: true, subtree: true, characterData: true });"
+            + " });";
+
+    /**
+     * Resolves once the select holds at least one real option and is enabled.
+     * Placeholder options ("", "0", "-1" values) and disabled options do not count, nor do the
+     * options of a select marked stale by MARK_STALE_SCRIPT that have not changed since.
+     * A MutationObserver reacts to the AJAX response instead of polling from the test side.
+     */
+    private static final String DROPDOWN_READY_SCRIPT =
+            "var select = arguments[0], budget = arguments[1], done = arguments[arguments.length - 1];"
+            + " function realOptions() {"
+            + "   var n = 0;"
+            + "   for (var i = 0; i < select.options.length; i++) {"
+            + "     var o = select.options[i];"
+            + "     if (!o.disabled && o.value !== '' && o.value !== '0' && o.value !== '-1') { n++; }"
+            + "   }"
+            + "   return n;"
+            + " }"
+            + " function ready() { return !select.__lmsStale && !select.disabled && realOptions() > 0; }"
+            + " if (ready()) { done(true); return; }"
+            + " var timer;"
+            + " var observer = new MutationObserver(function () {"
+            + "   if (ready()) { observer.disconnect(); clearTimeout(timer); done(true); }"
+            + " });"
+            + " observer.observe(select, { childList: true, subtree: true, attributes: true });"
+            + " timer = setTimeout(function () { observer.disconnect(); done(ready()); }, budget);";
+
+    /**
+     * Same readiness rule as DROPDOWN_READY_SCRIPT, checked once for each given select
+     */
+    private static final String DROPDOWNS_READY_SCRIPT =
+            "return Array.prototype.map.call(arguments[0], function (select) {"
+            + "   if (select.disabled || select.__lmsStale) { return false; }"
+            + "   for (var i = 0; i < select.options.length; i++) {"
+            + "     var o = select.options[i];"
+            + "     if (!o.disabled && o.value !== '' && o.value !== '0' && o.value !== '-1') { return true; }"
+            + "   }"
+            + "   return false;"
+            + " });";
+
+    /**
+     * Sets every field through the native value setter (so framework-wrapped inputs see it)
+     * and fires the events a user would cause. Returns a result per field id:
+     * ok, missing, disabled, hidden, maxlength or mismatch.
+     */
+    private static final String BATCH_FILL_SCRIPT =
+            "var values = arguments[0], results = {};"
+            + " Object.keys(values).forEach(function (id) {"
+            + "   var el = document.getElementById(id), value = String(values[id]);"
+            + "   if (!el) { results[id] = 'missing'; return; }"
+            + "   if (el.disabled || el.readOnly) { results[id] = 'disabled'; return; }"
+            + "   if (!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) { results[id] = 'hidden'; return; }"
+            + "   if (el.maxLength > 0 && value.length > el.maxLength) { results[id] = 'maxlength'; return; }"
+            + "   var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "   Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);"
+            + "   el.dispatchEvent(new FocusEvent('focus'));"
+            + "   el.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "   el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "   el.dispatchEvent(new FocusEvent('blur'));"
+            + "   el.dispatchEvent(new FocusEvent('focusout', { bubbles: true }));"
+            + "   results[id] = el.value === value ? 'ok' : 'mismatch';"
+            + " });"
+            + " return results;";
+
+    /**
+     * Checks the outcomes in order and returns the first one with a visible element whose
+     * trimmed text is not empty and matches its pattern, as [name, text]; null if none fired
+     */
+    private static final String OUTCOME_PROBE_SCRIPT =
+            "var outcomes = arguments[0];"
+            + " for (var i = 0; i < outcomes.length; i++) {"
+            + "   var outcome = outcomes[i], pattern = outcome.text ? new RegExp(outcome.text, 'i') : null;"
+            + "   var elements = document.querySelectorAll(outcome.selector);"
+            + "   for (var j = 0; j < elements.length; j++) {"
+            + "     var el = elements[j], text = (el.textContent || '').trim();"
+            + "     if (!text || !(el.offsetWidth || el.offsetHeight || el.getClientRects().length)) { continue; }"
+            + "     if (!pattern || pattern.test(text)) { return [outcome.name, text]; }"
+            + "   }"
+            + " }"
+            + " return null;";
 
     public WaitHelper(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        this.wait.pollingEvery(Duration.ofMillis(POLLING_INTERVAL));
-        this.wait.ignoring(NoSuchElementException.class);
-        this.wait.ignoring(StaleElementReferenceException.class);
+        this.fixedTimeout = null;
     }
 
     public WaitHelper(WebDriver driver, int timeoutInSeconds) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        this.wait.pollingEvery(Duration.ofMillis(POLLING_INTERVAL));
-        this.wait.ignoring(NoSuchElementException.class);
-        this.wait.ignoring(StaleElementReferenceException.class);
+        this.fixedTimeout = Duration.ofSeconds(timeoutInSeconds);
+    }
+
+    /**
+     * Wait for a condition within the budget of this wait and record how long it took
+     * and how many checks it needed
+     * The condition is checked at once and then after each pause of the polling strategy;
+     * NoSuchElementException and StaleElementReferenceException count as not yet met.
+     * @param what What is waited for; together with browser and caller it keys the budget
+     * @param condition ExpectedCondition
+     * @return Result of condition
+     */
+    private <T> T until(String what, ExpectedCondition<T> condition) {
+        String key = WaitBudgets.key(what);
+        WaitBudgets.Budget budget = budgetFor(key);
+        long start = System.nanoTime();
+        long deadline = start + budget.timeout().toNanos();
+        RuntimeException lastError = null;
+        int polls = 0;
+        while (true) {
+            polls++;
+            try {
+                T result = condition.apply(driver);
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    budgets.record(key, elapsedMillis(start), polls);
+                    return result;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                budgets.recordTimeout(key);
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for "
+                        + elapsedMillis(start) + " ms, " + polls + " polls, " + POLLING.name() + " polling"
+                        + (budget.learned() ? ", learned budget for " + key : "") + ")", lastError);
+            }
+            sleep(Math.min(remainingMillis, POLLING.nextDelayMillis(polls, budget.polling().toMillis())));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+
+    private WaitBudgets.Budget budgetFor(String key) {
+        if (fixedTimeout != null) {
+            return new WaitBudgets.Budget(fixedTimeout, Duration.ofMillis(POLLING_INTERVAL), false);
+        }
+        return budgets.budgetFor(key);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
     /**
@@ -47,7 +207,18 @@ public class WaitHelper {
      * @return WebElement
      */
     public WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return until("visible " + locator, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Wait for element to be visible in a DOM mirror of the page
+     * Each check is one script call, which only returns the page when it changed since the last one
+     * @param mirror DomMirror of the page
+     * @param locator By locator
+     * @return true once the element is visible
+     */
+    public boolean waitForElementVisible(DomMirror mirror, By locator) {
+        return until("mirror visible " + locator, (ExpectedCondition<Boolean>) webDriver -> mirror.isVisible(locator));
     }
 
     /**
@@ -56,7 +227,7 @@ public class WaitHelper {
      * @return WebElement
      */
     public WebElement waitForElementVisible(WebElement element) {
-        return wait.until(ExpectedConditions.visibilityOf(element));
+        return until("visible element", ExpectedConditions.visibilityOf(element));
     }
 
     /**
@@ -65,7 +236,7 @@ public class WaitHelper {
      * @return WebElement
      */
     public WebElement waitForElementClickable(By locator) {
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return until("clickable " + locator, ExpectedConditions.elementToBeClickable(locator));
     }
 
     /**
@@ -74,7 +245,7 @@ public class WaitHelper {
      * @return WebElement
      */
     public WebElement waitForElementClickable(WebElement element) {
-        return wait.until(ExpectedConditions.elementToBeClickable(element));
+        return until("clickable element", ExpectedConditions.elementToBeClickable(element));
     }
 
     /**
@@ -83,7 +254,7 @@ public class WaitHelper {
      * @return WebElement
      */
     public WebElement waitForElementPresent(By locator) {
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return until("present " + locator, ExpectedConditions.presenceOfElementLocated(locator));
     }
 
     /**
@@ -92,7 +263,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForElementInvisible(By locator) {
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return until("invisible " + locator, ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
     /**
@@ -102,7 +273,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForTextPresent(By locator, String text) {
-        return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        return until("text " + locator, ExpectedConditions.textToBePresentInElementLocated(locator, text));
     }
 
     /**
@@ -110,7 +281,7 @@ public class WaitHelper {
      * @return Alert
      */
     public Alert waitForAlertPresent() {
-        return wait.until(ExpectedConditions.alertIsPresent());
+        return until("alert", ExpectedConditions.alertIsPresent());
     }
 
     /**
@@ -119,7 +290,7 @@ public class WaitHelper {
      * @return WebDriver
      */
     public WebDriver waitForFrameAndSwitch(By locator) {
-        return wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
+        return until("frame " + locator, ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
     }
 
     /**
@@ -128,7 +299,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForTitleContains(String title) {
-        return wait.until(ExpectedConditions.titleContains(title));
+        return until("title", ExpectedConditions.titleContains(title));
     }
 
     /**
@@ -137,7 +308,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForUrlContains(String urlFragment) {
-        return wait.until(ExpectedConditions.urlContains(urlFragment));
+        return until("url", ExpectedConditions.urlContains(urlFragment));
     }
 
     /**
@@ -148,7 +319,8 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForAttributeContains(By locator, String attribute, String value) {
-        return wait.until(ExpectedConditions.attributeContains(locator, attribute, value));
+        return until("attribute " + attribute + " " + locator,
+                ExpectedConditions.attributeContains(locator, attribute, value));
     }
 
     /**
@@ -157,8 +329,8 @@ public class WaitHelper {
      * @param number Expected minimum number
      * @return List of elements
      */
-    public java.util.List<WebElement> waitForNumberOfElementsToBeMoreThan(By locator, int number) {
-        return wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, number));
+    public List<WebElement> waitForNumberOfElementsToBeMoreThan(By locator, int number) {
+        return until("count " + locator, ExpectedConditions.numberOfElementsToBeMoreThan(locator, number));
     }
 
     /**
@@ -167,7 +339,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForElementToBeSelected(By locator) {
-        return wait.until(ExpectedConditions.elementToBeSelected(locator));
+        return until("selected " + locator, ExpectedConditions.elementToBeSelected(locator));
     }
 
     /**
@@ -176,7 +348,7 @@ public class WaitHelper {
      * @return boolean
      */
     public boolean waitForStalenessOf(WebElement element) {
-        return wait.until(ExpectedConditions.stalenessOf(element));
+        return until("staleness", ExpectedConditions.stalenessOf(element));
     }
 
     /**
@@ -186,7 +358,94 @@ public class WaitHelper {
      * @return Result of condition
      */
     public <T> T waitForCondition(ExpectedCondition<T> condition) {
-        return wait.until(condition);
+        return until("condition", condition);
+    }
+
+    /**
+     * Wait for the first of several outcomes, e.g. a success toast or a validation error
+     * All outcomes are checked by one script per poll, so an error is reported as soon as
+     * it shows instead of when a wait for success times out
+     * @param outcomes Outcomes in priority order; the first one that fires wins
+     * @return The outcome that fired and the text of its element
+     */
+    @SuppressWarnings("unchecked")
+    public FiredOutcome waitForFirstOutcome(List<Outcome> outcomes) {
+        List<Map<String, String>> probe = new ArrayList<>();
+        StringBuilder names = new StringBuilder();
+        for (Outcome outcome : outcomes) {
+            probe.add(Map.of("name", outcome.name(), "selector", outcome.selector(),
+                    "text", outcome.textPattern() == null ? "" : outcome.textPattern()));
+            names.append(names.length() == 0 ? "" : "|").append(outcome.name());
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        List<String> fired = until("outcome " + names, (ExpectedCondition<List<String>>)
+                webDriver -> (List<String>) js.executeScript(OUTCOME_PROBE_SCRIPT, probe));
+        return new FiredOutcome(fired.get(0), fired.get(1));
+    }
+
+    /**
+     * Wait until a select element has its real options loaded
+     * Detection runs in the browser with a MutationObserver, so the call returns
+     * as soon as the options arrive instead of after a fixed sleep
+     * @param locator By locator of the select element
+     * @return WebElement of the ready select
+     */
+    public WebElement waitForDropdownOptions(By locator) {
+        String key = WaitBudgets.key("options " + locator);
+        WaitBudgets.Budget budget = budgetFor(key);
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + budget.timeout().toMillis();
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        int polls = 0;
+        while (true) {
+            polls++;
+            WebElement select = waitForElementPresent(locator);
+            long remaining = deadline - System.currentTimeMillis();
+            long slice = Math.max(0, Math.min(remaining, OBSERVER_SLICE_MILLIS));
+            try {
+                if (Boolean.TRUE.equals(js.executeAsyncScript(DROPDOWN_READY_SCRIPT, select, slice))) {
+                    budgets.record(key, elapsedMillis(start), polls);
+                    return select;
+                }
+            } catch (StaleElementReferenceException e) {
+                // Dropdown was re-rendered while loading; look it up again
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                budgets.recordTimeout(key);
+                throw new TimeoutException("Dropdown options did not load within "
+                        + budget.timeout().toMillis() + " ms: " + locator);
+            }
+        }
+    }
+
+    /**
+     * Mark the dropdowns that depend on a parent dropdown before the parent is changed
+     * Their current options belong to the previous parent selection; waits for their options
+     * only succeed once the change handler has replaced them
+     * @param locators By locators of the dependent select elements; absent ones are skipped
+     */
+    public void markDropdownsStale(By... locators) {
+        List<WebElement> selects = new ArrayList<>();
+        for (By locator : locators) {
+            selects.addAll(driver.findElements(locator));
+        }
+        if (!selects.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(MARK_STALE_SCRIPT, selects);
+        }
+    }
+
+    /**
+     * Check without waiting which select elements have their real options loaded
+     * @param selects Select elements
+     * @return Readiness of each select, in the same order; all false if one of them went stale
+     */
+    @SuppressWarnings("unchecked")
+    public List<Boolean> dropdownsReady(List<WebElement> selects) {
+        try {
+            return (List<Boolean>) ((JavascriptExecutor) driver).executeScript(DROPDOWNS_READY_SCRIPT, selects);
+        } catch (StaleElementReferenceException e) {
+            return Collections.nCopies(selects.size(), false);
+        }
     }
 
     /**
@@ -214,6 +473,18 @@ public class WaitHelper {
         element.sendKeys(text);
     }
 
+    /**
+     * Set several text fields in one browser round trip
+     * Values are applied in map order and input/change/blur events are fired for each field
+     * @param values Element ids mapped to the values to set
+     * @return Element ids mapped to the fill result ({@link #FILL_OK} on success)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> fillFieldsById(Map<String, String> values) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        return (Map<String, String>) js.executeScript(BATCH_FILL_SCRIPT, values);
+    }
+
     /**
      * JavaScript click
      * @param element WebElement
@@ -225,11 +496,12 @@ public class WaitHelper {
 
     /**
      * Scroll element into view
+     * Scrolling is instant so the element can be clicked right away without a sleep
      * @param element WebElement
      */
     public void scrollIntoView(WebElement element) {
         JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].scrollIntoView({block: 'center', behavior: 'smooth'});", element);
+        js.executeScript("arguments[0].scrollIntoView({block: 'center', behavior: 'instant'});", element);
     }
 
     /**
@@ -248,7 +520,7 @@ public class WaitHelper {
      * Wait for page to load completely
      */
     public void waitForPageLoad() {
-        wait.until((ExpectedCondition<Boolean>) webDriver -> {
+        until("page load", (ExpectedCondition<Boolean>) webDriver -> {
             JavascriptExecutor js = (JavascriptExecutor) webDriver;
             return js.executeScript("return document.readyState").toString().equals("complete");
         });
@@ -258,7 +530,7 @@ public class WaitHelper {
      * Wait for jQuery to complete (if jQuery is present)
      */
     public void waitForJQueryLoad() {
-        wait.until((ExpectedCondition<Boolean>) webDriver -> {
+        until("jQuery idle", (ExpectedCondition<Boolean>) webDriver -> {
             JavascriptExecutor js = (JavascriptExecutor) webDriver;
             try {
                 return (Boolean) js.executeScript("return jQuery.active == 0");
@@ -267,4 +539,21 @@ public class WaitHelper {
             }
         });
     }
+
+    /**
+     * Outcome for {@link #waitForFirstOutcome}
+     * @param name Name returned when this outcome fires
+     * @param selector CSS selector of the elements that signal it
+     * @param textPattern Case-insensitive regular expression the element text must match, or null for any text
+     */
+    public record Outcome(String name, String selector, String textPattern) {
+    }
+
+    /**
+     * Outcome that fired first
+     * @param name Outcome name
+     * @param message Text of the element that signalled it
+     */
+    public record FiredOutcome(String name, String message) {
+    }
 }
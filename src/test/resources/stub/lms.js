@@ -0,0 +1,133 @@
+// Client-side behaviour of the local LMS stub: menus, lazy and cascading dropdowns, save
+(function () {
+    function each(selector, fn) {
+        Array.prototype.forEach.call(document.querySelectorAll(selector), fn);
+    }
+
+    // Sidebar submenus
+    each('.menu-toggle', function (toggle) {
+        toggle.addEventListener('click', function (e) {
+            e.preventDefault();
+            var submenu = document.getElementById(toggle.getAttribute('data-submenu'));
+            submenu.style.display = submenu.style.display === 'none' ? 'block' : 'none';
+        });
+    });
+
+    // Dropdowns load their options from the server on first use; dependent
+    // dropdowns reload when their parent changes
+    function resetSelect(select) {
+        select.innerHTML = '<option value="">--Select--</option>';
+        select.removeAttribute('data-loaded');
+        select.removeAttribute('data-loading');
+    }
+
+    function loadOptions(select) {
+        if (select.hasAttribute('data-loaded') || select.hasAttribute('data-loading')) {
+            return;
+        }
+        var parentName = select.getAttribute('data-parent');
+        var parentValue = '';
+        if (parentName) {
+            parentValue = document.querySelector('select[name="' + parentName + '"]').value;
+            if (!parentValue) {
+                return;
+            }
+        }
+        select.setAttribute('data-loading', 'true');
+        var requested = parentValue;
+        fetch('/api/options?list=' + encodeURIComponent(select.getAttribute('data-list'))
+                + '&parent=' + encodeURIComponent(parentValue), { credentials: 'same-origin' })
+            .then(function (response) { return response.json(); })
+            .then(function (options) {
+                if (parentName && document.querySelector('select[name="' + parentName + '"]').value !== requested) {
+                    return;
+                }
+                resetSelect(select);
+                options.forEach(function (option) {
+                    var element = document.createElement('option');
+                    element.value = option.value;
+                    element.textContent = option.text;
+                    select.appendChild(element);
+                });
+                select.setAttribute('data-loaded', 'true');
+            })
+            .catch(function () { select.removeAttribute('data-loading'); });
+    }
+
+    each('select[data-list]', function (select) {
+        ['mousedown', 'focus', 'click'].forEach(function (type) {
+            select.addEventListener(type, function () { loadOptions(select); });
+        });
+        select.addEventListener('change', function () {
+            each('select[data-parent="' + select.name + '"]', function (child) {
+                resetSelect(child);
+                each('select[data-parent="' + child.name + '"]', resetSelect);
+                loadOptions(child);
+            });
+        });
+    });
+
+    // Accordion navigation
+    each('[data-next]', function (button) {
+        button.addEventListener('click', function () {
+            var current = button.closest('.collapse');
+            var next = document.getElementById(button.getAttribute('data-next'));
+            if (current) { current.classList.remove('show'); }
+            next.classList.add('show');
+        });
+    });
+    each('[data-prev]', function (button) {
+        button.addEventListener('click', function () {
+            var sections = Array.prototype.slice.call(document.querySelectorAll('.collapse'));
+            var index = sections.indexOf(button.closest('.collapse'));
+            if (index > 0) {
+                sections[index].classList.remove('show');
+                sections[index - 1].classList.add('show');
+            }
+        });
+    });
+
+    // Save
+    function toast(kind, message) {
+        var element = document.createElement('div');
+        element.className = 'toast toast-' + kind;
+        element.textContent = message;
+        document.getElementById('toastContainer').appendChild(element);
+    }
+
+    var save = document.getElementById('CustomerCreateNew');
+    if (save) {
+        save.addEventListener('click', function () {
+            var form = document.getElementById('customerForm');
+            var payload = {};
+            each('#customerForm [name]', function (field) {
+                payload[field.name] = field.type === 'checkbox' ? field.checked : field.value;
+            });
+            each('.field-validation-error', function (span) { span.textContent = ''; });
+            save.disabled = true;
+            fetch('/api/customers', {
+                method: 'POST',
+                credentials: 'same-origin',
+                headers: { 'Content-Type': 'application/json', 'X-Requested-With': 'XMLHttpRequest' },
+                body: JSON.stringify(payload)
+            }).then(function (response) {
+                return response.json().then(function (body) { return { status: response.status, body: body }; });
+            }).then(function (result) {
+                save.disabled = false;
+                if (result.status === 200) {
+                    toast('success', result.body.message);
+                    form.setAttribute('data-saved', result.body.customerNo);
+                } else if (result.status === 401) {
+                    toast('error', result.body.message);
+                    setTimeout(function () { window.location.href = '/'; }, 1500);
+                } else {
+                    Object.keys(result.body.errors || {}).forEach(function (name) {
+                        var span = document.querySelector('.field-validation-error[data-for="' + name + '"]');
+                        if (span) { span.textContent = result.body.errors[name]; }
+                    });
+                    toast('error', result.body.message);
+                }
+            });
+        });
+    }
+})();